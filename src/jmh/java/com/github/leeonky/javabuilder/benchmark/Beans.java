@@ -0,0 +1,88 @@
+package com.github.leeonky.javabuilder.benchmark;
+
+import com.github.leeonky.javabuilder.BeanContext;
+import com.github.leeonky.javabuilder.BeanSpecs;
+import com.github.leeonky.javabuilder.Combination;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class Beans {
+
+    public static class Flat {
+        public String name;
+        public int value;
+    }
+
+    public static class Wide {
+        public String string1, string2, string3, string4, string5;
+        public int int1, int2, int3, int4, int5;
+        public long long1, long2, long3;
+        public Integer boxedInt1, boxedInt2;
+        public BigDecimal decimal1, decimal2;
+        public UUID uuid;
+        public Instant instant;
+        public LocalDate localDate;
+        public boolean flag1, flag2;
+    }
+
+    public static class Address {
+        public String province, city;
+    }
+
+    public static class Customer {
+        public String name;
+        public Address address;
+    }
+
+    public static class Product {
+        public String code;
+        public int price, tax, taxDiscount;
+    }
+
+    public static class Order {
+        public String number;
+        public Customer customer;
+        public Product product;
+        public int total;
+    }
+
+    public static class AnAddress extends BeanSpecs<Address> {
+        @Override
+        public void specs(BeanContext<Address> beanContext) {
+            beanContext.property("province").value("Beijing");
+            beanContext.link("province", "city");
+        }
+    }
+
+    public static class ACustomer extends BeanSpecs<Customer> {
+        @Override
+        public void specs(BeanContext<Customer> beanContext) {
+            beanContext.property("address").from(AnAddress.class);
+        }
+    }
+
+    public static class AProduct extends BeanSpecs<Product> {
+        @Override
+        public void specs(BeanContext<Product> beanContext) {
+            beanContext.property("tax").dependsOn("price", price -> (int) price / 10);
+            beanContext.property("taxDiscount").dependsOn("tax", tax -> (int) tax / 100);
+        }
+
+        @Combination
+        public void expensive(BeanContext<Product> beanContext) {
+            beanContext.property("price").value(10000);
+        }
+    }
+
+    public static class AnOrder extends BeanSpecs<Order> {
+        @Override
+        public void specs(BeanContext<Order> beanContext) {
+            beanContext.property("customer").from(ACustomer.class);
+            beanContext.property("product").from(AProduct.class, builder -> builder.combine("expensive"));
+            beanContext.property("total").dependsOn("product.price", price -> price);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.leeonky.javabuilder.benchmark;
+
+import com.github.leeonky.javabuilder.Builder;
+import com.github.leeonky.javabuilder.CompiledBuilder;
+import com.github.leeonky.javabuilder.ConcurrentDataRepository;
+import com.github.leeonky.javabuilder.FactorySet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BuildBenchmark {
+    private static final int THREADS = 4;
+    private FactorySet factorySet;
+    private Builder<Beans.Flat> flat;
+    private Builder<Beans.Wide> wide;
+    private Builder<Beans.Order> order;
+    private CompiledBuilder<Beans.Order> compiledOrder;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        factorySet = new FactorySet(new ConcurrentDataRepository());
+        factorySet.onBuild(Beans.Flat.class, (flat, beanContext) -> {
+            flat.name = "flat" + beanContext.getCurrentSequence();
+            flat.value = beanContext.getCurrentSequence();
+        });
+        flat = factorySet.type(Beans.Flat.class);
+        wide = factorySet.type(Beans.Wide.class);
+        order = factorySet.toBuild(Beans.AnOrder.class);
+        compiledOrder = order.compile();
+    }
+
+    @Benchmark
+    public Beans.Flat build_flat_bean() {
+        return flat.build();
+    }
+
+    @Benchmark
+    public Beans.Flat create_flat_bean() {
+        return flat.create();
+    }
+
+    @Benchmark
+    public Beans.Wide build_wide_bean_through_default_factory() {
+        return wide.build();
+    }
+
+    @Benchmark
+    public Beans.Order build_deep_bean_specs() {
+        return order.build();
+    }
+
+    @Benchmark
+    public Beans.Order build_deep_bean_specs_with_property() {
+        return order.property("number", "N001").build();
+    }
+
+    @Benchmark
+    public Beans.Order build_deep_bean_specs_through_compiled_builder() {
+        return compiledOrder.build();
+    }
+
+    @Benchmark
+    public Beans.Order create_deep_bean_specs() {
+        return order.create();
+    }
+
+    @Benchmark
+    public Builder<Beans.Order> resolve_bean_specs() {
+        return factorySet.toBuild(Beans.AnOrder.class);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public Beans.Flat build_flat_bean_in_threads() {
+        return flat.build();
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public Beans.Flat create_flat_bean_in_threads() {
+        return flat.create();
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public Beans.Wide build_wide_bean_through_default_factory_in_threads() {
+        return wide.build();
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public Beans.Order create_deep_bean_specs_in_threads() {
+        return order.create();
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.leeonky.javabuilder.benchmark;
+
+import com.github.leeonky.javabuilder.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryBenchmark {
+    private static final int THREADS = 4;
+
+    @Param({"1000", "100000", "1000000"})
+    public int savedObjects;
+
+    @Param({"HashMap", "Indexed", "Concurrent"})
+    public String repository;
+
+    private Builder<Beans.Product> productByCode;
+    private Builder<Beans.Order> orderByProductCode;
+    private Builder<Beans.Order> orderReferencingProduct;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FactorySet factorySet = new FactorySet(createRepository());
+        factorySet.type(Beans.Product.class).createMany(savedObjects);
+        factorySet.type(Beans.Order.class).property("product.code", "code1").create();
+        String code = "code" + savedObjects / 2;
+        productByCode = factorySet.type(Beans.Product.class).property("code", code);
+        orderByProductCode = factorySet.type(Beans.Order.class).property("product.code", "code1");
+        orderReferencingProduct = factorySet.type(Beans.Order.class).property("product.code", code);
+        productByCode.query();
+        orderByProductCode.query();
+    }
+
+    private DataRepository createRepository() {
+        switch (repository) {
+            case "Indexed":
+                return new IndexedDataRepository();
+            case "Concurrent":
+                return new ConcurrentDataRepository();
+            default:
+                return new HashMapDataRepository();
+        }
+    }
+
+    @Benchmark
+    public List<Beans.Product> query_by_property() {
+        return productByCode.query();
+    }
+
+    @Benchmark
+    public List<Beans.Order> query_by_property_chain() {
+        return orderByProductCode.query();
+    }
+
+    @Benchmark
+    public Beans.Order build_with_reference_query() {
+        return orderReferencingProduct.build();
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public List<Beans.Product> query_by_property_in_threads() {
+        return productByCode.query();
+    }
+}
@@ -3,25 +3,63 @@ package com.github.leeonky.javabuilder;
 import com.github.leeonky.javabuilder.spec.QueryExpression;
 import com.github.leeonky.util.BeanClass;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public abstract class AbstractDataRepository implements DataRepository {
+    private static final ClassValue<Set<Class<?>>> supertypes = new ClassValue<Set<Class<?>>>() {
+        @Override
+        protected Set<Class<?>> computeValue(Class<?> type) {
+            Set<Class<?>> types = new LinkedHashSet<>();
+            Deque<Class<?>> pending = new ArrayDeque<>(Collections.singleton(type));
+            while (!pending.isEmpty()) {
+                Class<?> current = pending.poll();
+                if (types.add(current)) {
+                    if (current.getSuperclass() != null)
+                        pending.add(current.getSuperclass());
+                    pending.addAll(Arrays.asList(current.getInterfaces()));
+                }
+            }
+            return Collections.unmodifiableSet(types);
+        }
+    };
+    private final List<Consumer<Class<?>>> changeListeners = new CopyOnWriteArrayList<>();
 
     protected abstract <T> Collection<T> queryAll(Class<T> type);
 
+    protected <T> Collection<T> queryCandidates(BeanClass<T> beanClass, Map<String, Object> criteria) {
+        return queryAll(beanClass.getType());
+    }
+
+    protected Set<Class<?>> supertypesOf(Class<?> type) {
+        return supertypes.get(type);
+    }
+
+    @Override
+    public void onChange(Consumer<Class<?>> listener) {
+        changeListeners.add(listener);
+    }
+
+    protected void changed(Class<?> type) {
+        changeListeners.forEach(listener -> listener.accept(type));
+    }
+
     @Override
     public <T> List<T> query(BeanClass<T> beanClass, Map<String, Object> criteria) {
-        return queryAll(beanClass.getType()).stream()
-                .filter(o -> criteriaMatches(o, beanClass, criteria))
+        List<QueryExpression<T>> expressions = criteria.entrySet().stream()
+                .map(e -> new QueryExpression<>(beanClass, e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+        return queryCandidates(beanClass, criteria).stream()
+                .filter(o -> criteriaMatches(o, expressions))
                 .collect(Collectors.toList());
     }
 
-    private <T> boolean criteriaMatches(T object, BeanClass<T> beanClass, Map<String, Object> criteria) {
-        return criteria.entrySet().stream()
-                .map(e -> new QueryExpression<>(beanClass, e.getKey(), e.getValue()))
-                .allMatch(expression -> expression.matches(object));
+    private <T> boolean criteriaMatches(T object, List<QueryExpression<T>> expressions) {
+        for (QueryExpression<T> expression : expressions)
+            if (!expression.matches(object))
+                return false;
+        return true;
     }
 }
@@ -2,14 +2,14 @@ package com.github.leeonky.javabuilder;
 
 import com.github.leeonky.util.BeanClass;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 public abstract class AbstractFactory<T> implements Factory<T> {
     private final BeanClass<T> beanClass;
-    private final Map<String, Consumer<BeanContext<T>>> definedCombinationSpecs = new HashMap<>();
+    private final Map<String, Consumer<BeanContext<T>>> definedCombinationSpecs = new ConcurrentHashMap<>();
 
     AbstractFactory(Class<T> type) {
         beanClass = BeanClass.create(type);
@@ -28,12 +28,20 @@ public abstract class AbstractFactory<T> implements Factory<T> {
 
     @Override
     public void collectSpecs(BeanContext<T> beanContext, String... combinations) {
+        specs(combinations).accept(beanContext);
+    }
+
+    @Override
+    public Consumer<BeanContext<T>> specs(String... combinations) {
+        Consumer<BeanContext<T>> specs = beanContext -> {
+        };
         for (String combination : Objects.requireNonNull(combinations)) {
             Consumer<BeanContext<T>> combinationSpec = definedCombinationSpecs.get(combination);
             if (combinationSpec == null)
                 throw new IllegalArgumentException(String.format("Combination '%s' not exist", combination));
-            combinationSpec.accept(beanContext);
+            specs = specs.andThen(combinationSpec);
         }
+        return specs;
     }
 
 }
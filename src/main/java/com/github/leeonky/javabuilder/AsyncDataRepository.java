@@ -0,0 +1,93 @@
+package com.github.leeonky.javabuilder;
+
+import com.github.leeonky.util.BeanClass;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+public interface AsyncDataRepository {
+    CompletionStage<Void> save(Object object);
+
+    default CompletionStage<Void> saveAll(Collection<?> objects) {
+        CompletionStage<Void> saved = CompletableFuture.completedFuture(null);
+        for (Object object : objects)
+            saved = saved.thenCompose(v -> save(object));
+        return saved;
+    }
+
+    <T> CompletionStage<List<T>> query(BeanClass<T> beanClass, Map<String, Object> criteria);
+
+    CompletionStage<Void> clear();
+
+    default DataRepository blocking() {
+        AsyncDataRepository asyncDataRepository = this;
+        return new DataRepository() {
+            @Override
+            public void save(Object object) {
+                asyncDataRepository.save(object).toCompletableFuture().join();
+            }
+
+            @Override
+            public void saveAll(Collection<?> objects) {
+                asyncDataRepository.saveAll(objects).toCompletableFuture().join();
+            }
+
+            @Override
+            public <T> List<T> query(BeanClass<T> beanClass, Map<String, Object> criteria) {
+                return asyncDataRepository.query(beanClass, criteria).toCompletableFuture().join();
+            }
+
+            @Override
+            public void clear() {
+                asyncDataRepository.clear().toCompletableFuture().join();
+            }
+        };
+    }
+
+    static AsyncDataRepository of(DataRepository dataRepository) {
+        return new AsyncDataRepository() {
+            @Override
+            public CompletionStage<Void> save(Object object) {
+                return completed(() -> {
+                    dataRepository.save(object);
+                    return null;
+                });
+            }
+
+            @Override
+            public CompletionStage<Void> saveAll(Collection<?> objects) {
+                return completed(() -> {
+                    dataRepository.saveAll(objects);
+                    return null;
+                });
+            }
+
+            @Override
+            public <T> CompletionStage<List<T>> query(BeanClass<T> beanClass, Map<String, Object> criteria) {
+                return completed(() -> dataRepository.query(beanClass, criteria));
+            }
+
+            @Override
+            public CompletionStage<Void> clear() {
+                return completed(() -> {
+                    dataRepository.clear();
+                    return null;
+                });
+            }
+
+            private <T> CompletionStage<T> completed(Supplier<T> supplier) {
+                CompletableFuture<T> future = new CompletableFuture<>();
+                try {
+                    future.complete(supplier.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+                return future;
+            }
+        };
+    }
+}
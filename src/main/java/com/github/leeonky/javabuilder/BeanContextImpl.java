@@ -19,23 +19,34 @@ public class BeanContextImpl<T> implements BeanContext<T> {
     private final String currentPropertyName;
     private final int sequence;
     private final Builder<T> builder;
+    private final CompiledBuilder<T> compiledBuilder;
     private final Set<String> propertySpecProperties = new HashSet<>();
     private final Map<String, Object> specifiedProperties = new LinkedHashMap<>();
     private T built;
 
-    BeanContextImpl(BuildingContext buildingContext, BeanContextImpl<?> parent, String propertyNameInParent, Builder<T> builder) {
-        this.builder = builder.copy();
-        sequence = builder.factorySet.getSequence(builder.factory.getBeanClass().getType());
+    BeanContextImpl(BuildingContext buildingContext, BeanContextImpl<?> parent, String propertyNameInParent, CompiledBuilder<T> compiledBuilder) {
+        this(buildingContext, parent, propertyNameInParent, compiledBuilder,
+                compiledBuilder.builder.factorySet.getSequence(compiledBuilder.builder.factory.getBeanClass().getType()));
+    }
+
+    BeanContextImpl(BuildingContext buildingContext, BeanContextImpl<?> parent, String propertyNameInParent, CompiledBuilder<T> compiledBuilder, int sequence) {
+        this.compiledBuilder = compiledBuilder;
+        builder = compiledBuilder.builder;
+        this.sequence = sequence;
         this.buildingContext = buildingContext;
         this.parent = parent;
         currentPropertyName = propertyNameInParent;
     }
 
     private void queryOrCreateReferencesAndCollectSpecs() {
-        builder.properties.forEach((k, v) -> new QueryExpression<>(getBeanClass(), k, v)
-                .queryOrCreateTo(builder.factorySet, buildingContext, this, specifiedProperties, propertySpecProperties));
-        builder.factory.collectSpecs(this, builder.combinations);
-        builder.spec.accept(this);
+        BuildListener listener = builder.factorySet.listener();
+        for (QueryExpression<T> expression : compiledBuilder.propertyExpressions) {
+            long start = listener == null ? 0 : System.nanoTime();
+            expression.queryOrCreateTo(builder.factorySet, buildingContext, this, specifiedProperties, propertySpecProperties);
+            if (listener != null)
+                listener.onQueryOrCreate(builder.factory, expression.getBaseName(), System.nanoTime() - start);
+        }
+        compiledBuilder.specs.accept(this);
     }
 
     public PropertyChain propertyChain(String name) {
@@ -69,7 +80,11 @@ public class BeanContextImpl<T> implements BeanContext<T> {
     }
 
     private T newWithProperties() {
+        BuildListener listener = builder.factorySet.listener();
+        long start = listener == null ? 0 : System.nanoTime();
         built = builder.factory.newInstance(this);
+        if (listener != null)
+            listener.onNewInstance(builder.factory, System.nanoTime() - start);
         specifiedProperties.forEach((k, v) -> builder.factory.getBeanClass().setPropertyValue(built, k, v));
         return built;
     }
@@ -98,16 +113,28 @@ public class BeanContextImpl<T> implements BeanContext<T> {
     }
 
     public T build() {
+        BuildListener listener = builder.factorySet.listener();
+        long start = listener == null ? 0 : System.nanoTime();
         queryOrCreateReferencesAndCollectSpecs();
         T object = newWithProperties();
+        long applySpecsStart = listener == null ? 0 : System.nanoTime();
         buildingContext.applySpecs(object, this);
+        if (listener != null) {
+            long end = System.nanoTime();
+            listener.onApplySpecs(builder.factory, end - applySpecsStart);
+            listener.onBuild(builder.factory, builder.combinations, end - start);
+        }
         return object;
     }
 
     public <T> void processSubCreate(String property, Builder<T> builder, Consumer<Supplier<T>> consumer) {
-        BeanContextImpl<T> subBeanContext = new BeanContextImpl<>(buildingContext, this, property, builder);
+        BeanContextImpl<T> subBeanContext = new BeanContextImpl<>(buildingContext, this, property, builder.compile());
         consumer.accept(() -> subBeanContext.buildingContext.cacheSave(subBeanContext.parent.built, subBeanContext.newWithProperties()));
+        BuildListener listener = this.builder.factorySet.listener();
+        long start = listener == null ? 0 : System.nanoTime();
         subBeanContext.queryOrCreateReferencesAndCollectSpecs();
+        if (listener != null)
+            listener.onBuild(subBeanContext.builder.factory, subBeanContext.builder.combinations, System.nanoTime() - start);
     }
 
     public class PropertySpecBuilderImpl implements PropertySpecBuilder<T> {
@@ -1,44 +1,139 @@
 package com.github.leeonky.javabuilder;
 
+import com.github.leeonky.util.BeanClass;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 class BeanSpecsFactory<T> extends AbstractFactory<T> {
 
+    private static final ClassValue<Optional<BeanSpecsMetadata>> METADATA = new ClassValue<Optional<BeanSpecsMetadata>>() {
+        @Override
+        protected Optional<BeanSpecsMetadata> computeValue(Class<?> type) {
+            String metadataClassName = type.getName() + BeanSpecsMetadata.CLASS_NAME_SUFFIX;
+            try {
+                return Optional.of((BeanSpecsMetadata) Class.forName(metadataClassName, true, type.getClassLoader())
+                        .getDeclaredConstructor().newInstance());
+            } catch (ClassNotFoundException e) {
+                return Optional.empty();
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException(String.format("Failed to create metadata '%s'", metadataClassName), e.getTargetException());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(String.format("Failed to create metadata '%s'", metadataClassName), e);
+            }
+        }
+    };
+
     private final BeanSpecs<T> beanSpecs;
 
-    <B extends BeanSpecs<T>> BeanSpecsFactory(B beanSpecs) {
-        super(beanSpecs.getType());
+    private BeanSpecsFactory(BeanSpecs<T> beanSpecs, Class<T> type) {
+        super(type);
         this.beanSpecs = beanSpecs;
+    }
+
+    @SuppressWarnings("unchecked")
+    static BeanSpecsFactory<?> create(Class<? extends BeanSpecs<?>> beanSpecsClass) {
+        return METADATA.get(beanSpecsClass)
+                .<BeanSpecsFactory<?>>map(BeanSpecsFactory::create)
+                .orElseGet(() -> create((BeanSpecs) BeanClass.newInstance(beanSpecsClass)));
+    }
+
+    private static <S extends BeanSpecs<T>, T> BeanSpecsFactory<T> create(BeanSpecsMetadata<S, T> metadata) {
+        S beanSpecs = metadata.newSpecs();
+        BeanSpecsFactory<T> beanSpecsFactory = new BeanSpecsFactory<>(beanSpecs, metadata.getType());
+        metadata.registerCombinations(beanSpecs, beanSpecsFactory);
+        return beanSpecsFactory;
+    }
+
+    private static <T> BeanSpecsFactory<T> create(BeanSpecs<T> beanSpecs) {
+        BeanSpecsFactory<T> beanSpecsFactory = new BeanSpecsFactory<>(beanSpecs, beanSpecs.getType());
         Stream.of(beanSpecs.getClass().getMethods())
                 .filter(method -> method.getAnnotation(Combination.class) != null)
-                .forEach(method -> combinable(getCombinationName(method), beanContext -> {
-                    try {
-                        method.invoke(beanSpecs, beanContext);
-                    } catch (IllegalAccessException e) {
-                        throw new IllegalStateException(e);
-                    } catch (InvocationTargetException e) {
-                        if (e.getTargetException() instanceof RuntimeException)
-                            throw (RuntimeException) e.getTargetException();
-                        throw new IllegalStateException(e);
-                    }
-                }));
-    }
-
-    private String getCombinationName(Method method) {
+                .forEach(method -> beanSpecsFactory.combinable(getCombinationName(method), bindCombination(beanSpecs, method)));
+        return beanSpecsFactory;
+    }
+
+    @Override
+    public String getName() {
+        return beanSpecs.getName();
+    }
+
+    private static String getCombinationName(Method method) {
         Combination annotation = method.getAnnotation(Combination.class);
         return annotation.value().isEmpty() ? method.getName() : annotation.value();
     }
 
+    private static <T> Consumer<BeanContext<T>> bindCombination(BeanSpecs<T> beanSpecs, Method method) {
+        try {
+            method.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle methodHandle = lookup.unreflect(method);
+            if (isLambdaCompatible(method))
+                return createLambda(lookup, methodHandle, method.getDeclaringClass(), beanSpecs);
+            return bindMethodHandle(methodHandle.bindTo(beanSpecs));
+        } catch (Throwable e) {
+            throw new IllegalStateException(String.format("Cannot bind combination method '%s'", method), e);
+        }
+    }
+
+    private static boolean isLambdaCompatible(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        return Modifier.isPublic(declaringClass.getModifiers()) && isVisible(declaringClass)
+                && Stream.of(method.getExceptionTypes()).allMatch(type ->
+                RuntimeException.class.isAssignableFrom(type) || Error.class.isAssignableFrom(type));
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, BeanSpecsFactory.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Consumer<BeanContext<T>> createLambda(MethodHandles.Lookup lookup, MethodHandle methodHandle,
+                                                             Class<?> declaringClass, BeanSpecs<T> beanSpecs) throws Throwable {
+        try {
+            return (Consumer<BeanContext<T>>) LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(Consumer.class, declaringClass),
+                    MethodType.methodType(void.class, Object.class),
+                    methodHandle,
+                    MethodType.methodType(void.class, BeanContext.class))
+                    .getTarget().invoke(beanSpecs);
+        } catch (Exception e) {
+            return bindMethodHandle(methodHandle.bindTo(beanSpecs));
+        }
+    }
+
+    private static <T> Consumer<BeanContext<T>> bindMethodHandle(MethodHandle methodHandle) {
+        return beanContext -> {
+            try {
+                methodHandle.invoke(beanContext);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
     @Override
     public T newInstance(BeanContext<T> beanContext) {
         return beanContext.getFactorySet().factory(getBeanClass().getType()).newInstance(beanContext);
     }
 
     @Override
-    public void collectSpecs(BeanContext<T> beanContext, String... combinations) {
-        beanSpecs.specs(beanContext);
-        super.collectSpecs(beanContext, combinations);
+    public Consumer<BeanContext<T>> specs(String... combinations) {
+        Consumer<BeanContext<T>> specs = beanSpecs::specs;
+        return specs.andThen(super.specs(combinations));
     }
 }
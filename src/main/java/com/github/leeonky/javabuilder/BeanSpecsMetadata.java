@@ -0,0 +1,11 @@
+package com.github.leeonky.javabuilder;
+
+public interface BeanSpecsMetadata<S extends BeanSpecs<T>, T> {
+    String CLASS_NAME_SUFFIX = "_BeanSpecsMetadata";
+
+    S newSpecs();
+
+    Class<T> getType();
+
+    void registerCombinations(S specs, Factory<T> factory);
+}
@@ -0,0 +1,53 @@
+package com.github.leeonky.javabuilder;
+
+public interface BuildListener {
+    default void onBuild(Factory<?> factory, String[] combinations, long nanos) {
+    }
+
+    default void onNewInstance(Factory<?> factory, long nanos) {
+    }
+
+    default void onQueryOrCreate(Factory<?> factory, String property, long nanos) {
+    }
+
+    default void onApplySpecs(Factory<?> factory, long nanos) {
+    }
+
+    default void onSave(DataRepository dataRepository, int count, long nanos) {
+    }
+
+    default BuildListener andThen(BuildListener another) {
+        BuildListener self = this;
+        return new BuildListener() {
+            @Override
+            public void onBuild(Factory<?> factory, String[] combinations, long nanos) {
+                self.onBuild(factory, combinations, nanos);
+                another.onBuild(factory, combinations, nanos);
+            }
+
+            @Override
+            public void onNewInstance(Factory<?> factory, long nanos) {
+                self.onNewInstance(factory, nanos);
+                another.onNewInstance(factory, nanos);
+            }
+
+            @Override
+            public void onQueryOrCreate(Factory<?> factory, String property, long nanos) {
+                self.onQueryOrCreate(factory, property, nanos);
+                another.onQueryOrCreate(factory, property, nanos);
+            }
+
+            @Override
+            public void onApplySpecs(Factory<?> factory, long nanos) {
+                self.onApplySpecs(factory, nanos);
+                another.onApplySpecs(factory, nanos);
+            }
+
+            @Override
+            public void onSave(DataRepository dataRepository, int count, long nanos) {
+                self.onSave(dataRepository, count, nanos);
+                another.onSave(dataRepository, count, nanos);
+            }
+        };
+    }
+}
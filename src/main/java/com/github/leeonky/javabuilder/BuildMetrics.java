@@ -0,0 +1,96 @@
+package com.github.leeonky.javabuilder;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class BuildMetrics implements BuildListener {
+    private final Map<String, Timing> builds = new ConcurrentHashMap<>();
+    private final Map<String, Timing> newInstances = new ConcurrentHashMap<>();
+    private final Map<String, Timing> queryOrCreates = new ConcurrentHashMap<>();
+    private final Map<String, Timing> applySpecs = new ConcurrentHashMap<>();
+    private final Timing saves = new Timing();
+
+    private static void record(Map<String, Timing> timings, String name, long nanos) {
+        Timing timing = timings.get(name);
+        if (timing == null)
+            timing = timings.computeIfAbsent(name, k -> new Timing());
+        timing.record(nanos);
+    }
+
+    @Override
+    public void onBuild(Factory<?> factory, String[] combinations, long nanos) {
+        record(builds, factory.getName(), nanos);
+    }
+
+    @Override
+    public void onNewInstance(Factory<?> factory, long nanos) {
+        record(newInstances, factory.getName(), nanos);
+    }
+
+    @Override
+    public void onQueryOrCreate(Factory<?> factory, String property, long nanos) {
+        record(queryOrCreates, factory.getName() + "." + property, nanos);
+    }
+
+    @Override
+    public void onApplySpecs(Factory<?> factory, long nanos) {
+        record(applySpecs, factory.getName(), nanos);
+    }
+
+    @Override
+    public void onSave(DataRepository dataRepository, int count, long nanos) {
+        saves.record(nanos);
+    }
+
+    public Map<String, Timing> getBuilds() {
+        return Collections.unmodifiableMap(builds);
+    }
+
+    public Map<String, Timing> getNewInstances() {
+        return Collections.unmodifiableMap(newInstances);
+    }
+
+    public Map<String, Timing> getQueryOrCreates() {
+        return Collections.unmodifiableMap(queryOrCreates);
+    }
+
+    public Map<String, Timing> getApplySpecs() {
+        return Collections.unmodifiableMap(applySpecs);
+    }
+
+    public Timing getSaves() {
+        return saves;
+    }
+
+    public static class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getAverageNanos() {
+            long count = getCount();
+            return count == 0 ? 0 : getTotalNanos() / count;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.github.leeonky.javabuilder;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -57,6 +59,7 @@ public class Builder<T> {
     }
 
     public List<T> query() {
+        CompiledBuilder.flushPendingSaves();
         return factorySet.getDataRepository().query(factory.getBeanClass(), properties);
     }
 
@@ -66,15 +69,39 @@ public class Builder<T> {
         return builder;
     }
 
+    public CompiledBuilder<T> compile() {
+        return new CompiledBuilder<>(this);
+    }
+
     public T create() {
-        BuildingContext buildingContext = new BuildingContext(factorySet);
-        T object = new BeanContextImpl<>(buildingContext, null, null, this).build();
-        buildingContext.submitCached(object);
-        factorySet.getDataRepository().save(object);
-        return object;
+        return compile().create();
+    }
+
+    public CompletableFuture<T> createAsync() {
+        return compile().createAsync();
+    }
+
+    public CompletableFuture<T> createAsync(Executor executor) {
+        return compile().createAsync(executor);
+    }
+
+    public List<T> createMany(int count) {
+        return compile().createMany(count);
+    }
+
+    public static <T> List<T> createAll(Stream<Builder<T>> builders) {
+        return CompiledBuilder.createAll(builders.map(Builder::compile));
     }
 
     public T build() {
-        return new BeanContextImpl<>(new BuildingContext(factorySet), null, null, this).build();
+        return compile().build();
+    }
+
+    public Stream<T> stream() {
+        return compile().stream();
+    }
+
+    public Stream<T> createStream() {
+        return compile().createStream();
     }
 }
@@ -36,33 +36,66 @@ public class BuildingContext {
 
         supplierSpecs.values().forEach(spec -> spec.apply(object));
 
-        Set<PropertyChain> properties = new LinkedHashSet<>(dependencySpecs.keySet());
-        while (properties.size() > 0)
-            assignFromDependency(object, properties, properties.iterator().next());
+        sortDependencySpecs().forEach(spec -> spec.apply(object));
 
         linkSpecs.forEach(linkSpec -> linkSpec.apply(object, beanContext));
     }
 
-    public void submitCached(Object object) {
-        objectTree.foreach(object, o -> factorySet.getDataRepository().save(o));
+    public void collectCached(Object object, Collection<Object> objects) {
+        objectTree.foreach(object, objects::add);
+        objects.add(object);
     }
 
     private void mergePropertySpecs(Object object) {
-        ArrayList<PropertySpec> propertiesSpecList = new ArrayList<>(propertiesSpecs.values());
-        for (int i = 0; i < propertiesSpecList.size(); ++i)
-            for (int j = i + 1; j < propertiesSpecList.size(); ++j)
-                propertiesSpecList.get(i).tryMerge(propertiesSpecList.get(j));
-        propertiesSpecList.forEach(spec -> spec.apply(object));
+        Map<Object, List<PropertySpec>> sameTargets = new HashMap<>();
+        propertiesSpecs.values().forEach(spec ->
+                sameTargets.computeIfAbsent(spec.getMergeKey(), k -> new ArrayList<>()).add(spec));
+        sameTargets.values().forEach(PropertySpec::merge);
+        propertiesSpecs.values().forEach(spec -> spec.apply(object));
     }
 
-    private void assignFromDependency(Object object, Set<PropertyChain> properties, PropertyChain property) {
-        if (properties.contains(property)) {
-            DependencySpec dependencySpec = dependencySpecs.get(property);
-            dependencySpec.getDependencies()
-                    .forEach(dependencyDependency -> assignFromDependency(object, properties, dependencyDependency));
-            dependencySpec.apply(object);
-            properties.remove(property);
+    private List<DependencySpec> sortDependencySpecs() {
+        List<DependencySpec> sorted = new ArrayList<>(dependencySpecs.size());
+        Set<PropertyChain> visited = new HashSet<>();
+        Set<PropertyChain> path = new HashSet<>();
+        Deque<PropertyChain> stack = new ArrayDeque<>();
+        Deque<Iterator<PropertyChain>> dependencies = new ArrayDeque<>();
+        for (PropertyChain property : dependencySpecs.keySet()) {
+            if (!visited.add(property))
+                continue;
+            push(property, stack, dependencies, path);
+            while (!stack.isEmpty()) {
+                if (dependencies.peek().hasNext()) {
+                    PropertyChain dependency = dependencies.peek().next();
+                    if (path.contains(dependency))
+                        throw new IllegalStateException(String.format("Circular dependency: %s", cyclePath(stack, dependency)));
+                    if (dependencySpecs.containsKey(dependency) && visited.add(dependency))
+                        push(dependency, stack, dependencies, path);
+                } else {
+                    dependencies.pop();
+                    path.remove(stack.peek());
+                    sorted.add(dependencySpecs.get(stack.pop()));
+                }
+            }
         }
+        return sorted;
+    }
+
+    private void push(PropertyChain property, Deque<PropertyChain> stack, Deque<Iterator<PropertyChain>> dependencies, Set<PropertyChain> path) {
+        stack.push(property);
+        dependencies.push(dependencySpecs.get(property).getDependencies().iterator());
+        path.add(property);
+    }
+
+    private String cyclePath(Deque<PropertyChain> stack, PropertyChain dependency) {
+        StringJoiner joiner = new StringJoiner(" -> ");
+        boolean inCycle = false;
+        for (Iterator<PropertyChain> iterator = stack.descendingIterator(); iterator.hasNext(); ) {
+            PropertyChain property = iterator.next();
+            if (inCycle |= property.equals(dependency))
+                joiner.add(property.toString());
+        }
+        return joiner.add(dependency.toString()).toString();
     }
 
     public void appendDependencySpec(PropertyChain propertyChain, DependencySpec spec) {
@@ -0,0 +1,78 @@
+package com.github.leeonky.javabuilder;
+
+import com.github.leeonky.javabuilder.spec.LruCache;
+import com.github.leeonky.javabuilder.spec.QueryChain;
+import com.github.leeonky.util.BeanClass;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class CachingDataRepository implements DataRepository {
+    private static final int DEFAULT_CAPACITY_PER_TYPE = 256;
+    private final DataRepository dataRepository;
+    private final int capacityPerType;
+    private final Map<Class<?>, LruCache<Map<String, Object>, List<?>>> cache = new ConcurrentHashMap<>();
+
+    public CachingDataRepository(DataRepository dataRepository) {
+        this(dataRepository, DEFAULT_CAPACITY_PER_TYPE);
+    }
+
+    public CachingDataRepository(DataRepository dataRepository, int capacityPerType) {
+        if (capacityPerType <= 0)
+            throw new IllegalArgumentException(String.format("Invalid cache capacity %d", capacityPerType));
+        this.dataRepository = dataRepository;
+        this.capacityPerType = capacityPerType;
+        dataRepository.onChange(this::invalidate);
+    }
+
+    @Override
+    public void save(Object object) {
+        dataRepository.save(object);
+        if (object != null)
+            invalidate(object.getClass());
+    }
+
+    @Override
+    public void saveAll(Collection<?> objects) {
+        dataRepository.saveAll(objects);
+        Set<Class<?>> types = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object object : objects)
+            if (object != null && types.add(object.getClass()))
+                invalidate(object.getClass());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> query(BeanClass<T> beanClass, Map<String, Object> criteria) {
+        LruCache<Map<String, Object>, List<?>> results = cache.computeIfAbsent(beanClass.getType(), t -> new LruCache<>(capacityPerType));
+        Map<String, Object> key = new HashMap<>();
+        criteria.forEach((chain, value) -> key.put(chain, QueryChain.compile(beanClass, chain).convert(value)));
+        List<?> result = results.get(key);
+        if (result == null) {
+            result = new ArrayList<>(dataRepository.query(beanClass, criteria));
+            results.put(key, result);
+        }
+        return new ArrayList<>((List<T>) result);
+    }
+
+    @Override
+    public void clear() {
+        dataRepository.clear();
+        cache.clear();
+    }
+
+    @Override
+    public void onChange(Consumer<Class<?>> listener) {
+        dataRepository.onChange(listener);
+    }
+
+    @Override
+    public boolean isConcurrent() {
+        return dataRepository.isConcurrent();
+    }
+
+    private void invalidate(Class<?> changedType) {
+        cache.keySet().removeIf(type -> type.isAssignableFrom(changedType) || changedType.isAssignableFrom(type));
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.leeonky.javabuilder;
+
+import com.github.leeonky.javabuilder.spec.QueryExpression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class CompiledBuilder<T> {
+    static final Executor DEFAULT_EXECUTOR = defaultExecutor();
+    private static final ThreadLocal<SaveBatch> PENDING_SAVES = new ThreadLocal<>();
+    final Builder<T> builder;
+    final List<QueryExpression<T>> propertyExpressions;
+    final Consumer<BeanContext<T>> specs;
+
+    CompiledBuilder(Builder<T> builder) {
+        this.builder = builder.copy();
+        propertyExpressions = this.builder.properties.entrySet().stream()
+                .map(e -> new QueryExpression<>(this.builder.factory.getBeanClass(), e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+        specs = this.builder.factory.specs(this.builder.combinations).andThen(this.builder.spec);
+    }
+
+    private static Executor defaultExecutor() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return ForkJoinPool.commonPool();
+        }
+    }
+
+    static <T> List<T> createAll(Stream<CompiledBuilder<T>> builders) {
+        SaveBatch saveBatch = new SaveBatch(PENDING_SAVES.get());
+        PENDING_SAVES.set(saveBatch);
+        List<T> created;
+        try {
+            created = builders.sequential()
+                    .map(builder -> saveBatch.add(builder.builder.factorySet, builder::buildAndCollect))
+                    .collect(Collectors.toList());
+        } catch (RuntimeException | Error e) {
+            try {
+                saveBatch.flush();
+            } catch (RuntimeException | Error flushError) {
+                e.addSuppressed(flushError);
+            }
+            throw e;
+        } finally {
+            PENDING_SAVES.set(saveBatch.outer);
+        }
+        saveBatch.flush();
+        return created;
+    }
+
+    static void flushPendingSaves() {
+        for (SaveBatch saveBatch = PENDING_SAVES.get(); saveBatch != null; saveBatch = saveBatch.outer)
+            saveBatch.flush();
+    }
+
+    public T build() {
+        return new BeanContextImpl<>(new BuildingContext(builder.factorySet), null, null, this).build();
+    }
+
+    private T build(int sequence) {
+        return new BeanContextImpl<>(new BuildingContext(builder.factorySet), null, null, this, sequence).build();
+    }
+
+    public T create() {
+        List<Object> objects = new ArrayList<>();
+        T object = buildAndCollect(objects);
+        saveAll(builder.factorySet, objects);
+        return object;
+    }
+
+    private T create(int sequence) {
+        BuildingContext buildingContext = new BuildingContext(builder.factorySet);
+        T object = new BeanContextImpl<>(buildingContext, null, null, this, sequence).build();
+        List<Object> objects = new ArrayList<>();
+        buildingContext.collectCached(object, objects);
+        saveAll(builder.factorySet, objects);
+        return object;
+    }
+
+    public CompletableFuture<T> createAsync() {
+        return createAsync(builder.factorySet.asyncExecutor());
+    }
+
+    public CompletableFuture<T> createAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Object> objects = new ArrayList<>();
+            T object = buildAndCollect(objects);
+            return saveAllAsync(builder.factorySet, objects).thenApply(v -> object);
+        }, executor).thenCompose(Function.identity());
+    }
+
+    public List<T> createMany(int count) {
+        return createAll(Stream.generate(() -> this).limit(count));
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(new SequenceSpliterator<>(builder.factorySet,
+                builder.factory.getBeanClass().getType(), this::build), false);
+    }
+
+    public Stream<T> createStream() {
+        return StreamSupport.stream(new SequenceSpliterator<>(builder.factorySet,
+                builder.factory.getBeanClass().getType(), this::create), false);
+    }
+
+    private static void saveAll(FactorySet factorySet, List<Object> objects) {
+        BuildListener listener = factorySet.listener();
+        long start = listener == null ? 0 : System.nanoTime();
+        factorySet.getDataRepository().saveAll(objects);
+        if (listener != null)
+            listener.onSave(factorySet.getDataRepository(), objects.size(), System.nanoTime() - start);
+    }
+
+    private static CompletionStage<Void> saveAllAsync(FactorySet factorySet, List<Object> objects) {
+        BuildListener listener = factorySet.listener();
+        long start = listener == null ? 0 : System.nanoTime();
+        CompletionStage<Void> saved = factorySet.getAsyncDataRepository().saveAll(objects);
+        if (listener != null)
+            saved = saved.whenComplete((v, e) ->
+                    listener.onSave(factorySet.getDataRepository(), objects.size(), System.nanoTime() - start));
+        return saved;
+    }
+
+    private T buildAndCollect(List<Object> objects) {
+        BuildingContext buildingContext = new BuildingContext(builder.factorySet);
+        T object = new BeanContextImpl<>(buildingContext, null, null, this).build();
+        buildingContext.collectCached(object, objects);
+        return object;
+    }
+
+    private static class SaveBatch {
+        private static final int BATCH_SIZE = 1000;
+        private final List<Object> objects = new ArrayList<>();
+        private final SaveBatch outer;
+        private FactorySet factorySet;
+
+        SaveBatch(SaveBatch outer) {
+            this.outer = outer;
+        }
+
+        <T> T add(FactorySet factorySet, Function<List<Object>, T> builder) {
+            if (this.factorySet != null && this.factorySet.getDataRepository() != factorySet.getDataRepository())
+                flush();
+            this.factorySet = factorySet;
+            T object = builder.apply(objects);
+            if (objects.size() >= BATCH_SIZE)
+                flush();
+            return object;
+        }
+
+        void flush() {
+            if (!objects.isEmpty()) {
+                List<Object> saving = new ArrayList<>(objects);
+                objects.clear();
+                saveAll(factorySet, saving);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.leeonky.javabuilder;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ConcurrentDataRepository extends AbstractDataRepository {
+    private final Map<Class<?>, Queue<Object>> repo = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Queue<Object>>> subtypeBuckets = new ConcurrentHashMap<>();
+    private final Set<Identity> saved = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void save(Object object) {
+        if (object != null && saved.add(new Identity(object))) {
+            bucketOf(object.getClass()).add(object);
+            changed(object.getClass());
+        }
+    }
+
+    private Queue<Object> bucketOf(Class<?> type) {
+        Queue<Object> bucket = repo.get(type);
+        if (bucket == null)
+            bucket = repo.computeIfAbsent(type, t -> {
+                Queue<Object> created = new ConcurrentLinkedQueue<>();
+                for (Class<?> supertype : supertypesOf(t))
+                    subtypeBuckets.computeIfAbsent(supertype, s -> new CopyOnWriteArrayList<>()).add(created);
+                return created;
+            });
+        return bucket;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Collection<T> queryAll(Class<T> type) {
+        List<Queue<Object>> buckets = subtypeBuckets.getOrDefault(type, Collections.emptyList());
+        if (buckets.size() == 1)
+            return (Collection<T>) Collections.unmodifiableCollection(buckets.get(0));
+        List<Object> all = new ArrayList<>();
+        buckets.forEach(all::addAll);
+        return (Collection<T>) all;
+    }
+
+    @Override
+    public void clear() {
+        repo.clear();
+        subtypeBuckets.clear();
+        saved.clear();
+        changed(Object.class);
+    }
+
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
+    private static class Identity {
+        private final Object object;
+
+        Identity(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Identity && ((Identity) obj).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+}
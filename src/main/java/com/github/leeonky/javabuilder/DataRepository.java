@@ -2,13 +2,26 @@ package com.github.leeonky.javabuilder;
 
 import com.github.leeonky.util.BeanClass;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface DataRepository {
     void save(Object object);
 
+    default void saveAll(Collection<?> objects) {
+        objects.forEach(this::save);
+    }
+
     <T> List<T> query(BeanClass<T> beanClass, Map<String, Object> criteria);
 
     void clear();
+
+    default void onChange(Consumer<Class<?>> listener) {
+    }
+
+    default boolean isConcurrent() {
+        return false;
+    }
 }
@@ -9,7 +9,15 @@ public interface Factory<T> {
 
     BeanClass<T> getBeanClass();
 
+    default String getName() {
+        return getBeanClass().getType().getName();
+    }
+
     Factory<T> combinable(String name, Consumer<BeanContext<T>> spec);
 
     void collectSpecs(BeanContext<T> beanContext, String... combinations);
+
+    default Consumer<BeanContext<T>> specs(String... combinations) {
+        return beanContext -> collectSpecs(beanContext, combinations);
+    }
 }
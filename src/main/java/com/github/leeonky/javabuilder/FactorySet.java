@@ -1,9 +1,10 @@
 package com.github.leeonky.javabuilder;
 
-import com.github.leeonky.util.BeanClass;
-
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -11,18 +12,48 @@ import java.util.function.Supplier;
 
 public class FactorySet {
     private final PropertyBuilder propertyBuilder = PropertyBuilder.createDefaultPropertyBuilder();
-    private final Map<Class<?>, Factory<?>> factories = new HashMap<>();
-    private final Map<Class<?>, Factory<?>> beanSpecsMap = new HashMap<>();
-    private final Map<String, Factory<?>> beanSpecsNameMap = new HashMap<>();
-    private final Map<Class<?>, Integer> sequences = new HashMap<>();
+    private final Map<Class<?>, Factory<?>> factories = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Factory<?>> beanSpecsMap = new ConcurrentHashMap<>();
+    private final Map<String, Factory<?>> beanSpecsNameMap = new ConcurrentHashMap<>();
+    private final Map<Class<?>, AtomicInteger> sequences = new ConcurrentHashMap<>();
+    private final AtomicReference<BuildListener> listener = new AtomicReference<>();
     private final DataRepository dataRepository;
+    private final AsyncDataRepository asyncDataRepository;
+    private final Executor asyncExecutor;
+    private volatile SequenceStrategy sequenceStrategy = SequenceStrategy.configured();
 
     public FactorySet() {
-        dataRepository = new HashMapDataRepository();
+        this(new HashMapDataRepository());
     }
 
     public FactorySet(DataRepository dataRepository) {
         this.dataRepository = dataRepository;
+        asyncDataRepository = AsyncDataRepository.of(dataRepository);
+        asyncExecutor = dataRepository.isConcurrent() ? CompiledBuilder.DEFAULT_EXECUTOR : new SerialExecutor(CompiledBuilder.DEFAULT_EXECUTOR);
+    }
+
+    public FactorySet(AsyncDataRepository asyncDataRepository) {
+        dataRepository = asyncDataRepository.blocking();
+        this.asyncDataRepository = asyncDataRepository;
+        asyncExecutor = CompiledBuilder.DEFAULT_EXECUTOR;
+    }
+
+    public FactorySet addListener(BuildListener buildListener) {
+        listener.accumulateAndGet(buildListener, (current, added) -> current == null ? added : current.andThen(added));
+        return this;
+    }
+
+    BuildListener listener() {
+        return listener.get();
+    }
+
+    Executor asyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public FactorySet sequenceStrategy(SequenceStrategy sequenceStrategy) {
+        this.sequenceStrategy = sequenceStrategy;
+        return this;
     }
 
     public PropertyBuilder getPropertyBuilder() {
@@ -57,28 +88,34 @@ public class FactorySet {
     }
 
     public FactorySet define(Class<? extends BeanSpecs<?>> beanSpecsClass) {
-        BeanSpecs<?> beanDefinition = BeanClass.newInstance(beanSpecsClass);
-        if (beanSpecsNameMap.containsKey(beanDefinition.getName()))
-            throw new IllegalArgumentException(String.format("Specification '%s' already exists", beanDefinition.getName()));
-        BeanSpecsFactory<?> beanSpecsFactory = new BeanSpecsFactory<>(beanDefinition);
-        beanSpecsMap.put(beanSpecsClass, beanSpecsFactory);
-        beanSpecsNameMap.put(beanDefinition.getName(), beanSpecsFactory);
+        beanSpecsMap.put(beanSpecsClass, createBeanSpecsFactory(beanSpecsClass));
         return this;
     }
 
+    private BeanSpecsFactory<?> createBeanSpecsFactory(Class<? extends BeanSpecs<?>> beanSpecsClass) {
+        BeanSpecsFactory<?> beanSpecsFactory = BeanSpecsFactory.create(beanSpecsClass);
+        if (beanSpecsNameMap.putIfAbsent(beanSpecsFactory.getName(), beanSpecsFactory) != null)
+            throw new IllegalArgumentException(String.format("Specification '%s' already exists", beanSpecsFactory.getName()));
+        return beanSpecsFactory;
+    }
+
     @SuppressWarnings("unchecked")
     public <T> Factory<T> factory(Class<T> type) {
-        return (Factory<T>) factories.computeIfAbsent(type, k -> new DefaultBeanFactory<>(type));
+        Factory<T> factory = (Factory<T>) factories.get(type);
+        if (factory == null)
+            factory = (Factory<T>) factories.computeIfAbsent(type, k -> new DefaultBeanFactory<>(type));
+        return factory;
     }
 
     public <T> Builder<T> type(Class<T> type) {
         return new Builder<>(factory(type), this);
     }
 
+    @SuppressWarnings("unchecked")
     public <T> Builder<T> toBuild(Class<? extends BeanSpecs<T>> beanSpecsClass) {
         Factory<T> factory = specs(beanSpecsClass);
         if (null == factory)
-            return define(beanSpecsClass).toBuild(beanSpecsClass);
+            factory = (Factory<T>) beanSpecsMap.computeIfAbsent(beanSpecsClass, k -> createBeanSpecsFactory(beanSpecsClass));
         return new Builder<>(factory, this);
     }
 
@@ -100,11 +137,22 @@ public class FactorySet {
     }
 
     int getSequence(Class<?> type) {
-        synchronized (FactorySet.class) {
-            int sequence = sequences.getOrDefault(type, 0) + 1;
-            sequences.put(type, sequence);
-            return sequence;
-        }
+        return sequenceOf(reserveSequences(type, 1));
+    }
+
+    int reserveSequences(Class<?> type, int count) {
+        AtomicInteger sequence = sequences.get(type);
+        if (sequence == null)
+            sequence = sequences.computeIfAbsent(type, k -> new AtomicInteger());
+        return sequence.getAndAdd(count) + 1;
+    }
+
+    int sequenceOf(int localSequence) {
+        return sequenceStrategy.sequenceOf(localSequence);
+    }
+
+    public AsyncDataRepository getAsyncDataRepository() {
+        return asyncDataRepository;
     }
 
     public DataRepository getDataRepository() {
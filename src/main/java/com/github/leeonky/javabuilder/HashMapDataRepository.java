@@ -3,22 +3,52 @@ package com.github.leeonky.javabuilder;
 import java.util.*;
 
 public class HashMapDataRepository extends AbstractDataRepository {
-    private Map<Class<?>, Set<Object>> repo = new HashMap<>();
+    private final Map<Class<?>, List<Object>> repo = new HashMap<>();
+    private final Map<Class<?>, List<List<Object>>> subtypeBuckets = new HashMap<>();
+    private final Set<Object> saved = Collections.newSetFromMap(new IdentityHashMap<>());
 
     @Override
     public void save(Object object) {
-        if (object != null)
-            repo.computeIfAbsent(object.getClass(), c -> new HashSet<>()).add(object);
+        if (object != null && saved.add(object)) {
+            bucketOf(object.getClass()).add(object);
+            changed(object.getClass());
+        }
+    }
+
+    private List<Object> bucketOf(Class<?> type) {
+        List<Object> bucket = repo.get(type);
+        if (bucket == null) {
+            repo.put(type, bucket = new ArrayList<>());
+            for (Class<?> supertype : supertypesOf(type))
+                subtypeBuckets.computeIfAbsent(supertype, t -> new ArrayList<>()).add(bucket);
+        }
+        return bucket;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> Collection<T> queryAll(Class<T> type) {
-        return (Collection<T>) repo.getOrDefault(type, Collections.emptySet());
+        List<List<Object>> buckets = subtypeBuckets.getOrDefault(type, Collections.emptyList());
+        if (buckets.size() == 1)
+            return (Collection<T>) Collections.unmodifiableList(buckets.get(0));
+        List<Object> all = new ArrayList<>();
+        buckets.forEach(all::addAll);
+        return (Collection<T>) all;
+    }
+
+    Map<Class<?>, List<Object>> savedObjects() {
+        return Collections.unmodifiableMap(repo);
+    }
+
+    protected boolean contains(Object object) {
+        return saved.contains(object);
     }
 
     @Override
     public void clear() {
         repo.clear();
+        subtypeBuckets.clear();
+        saved.clear();
+        changed(Object.class);
     }
 }
@@ -0,0 +1,70 @@
+package com.github.leeonky.javabuilder;
+
+import com.github.leeonky.javabuilder.spec.QueryChain;
+import com.github.leeonky.util.BeanClass;
+
+import java.util.*;
+
+/**
+ * Indexes a property value when the object is saved. Changing the property of a saved object does not move it
+ * in the index, call {@link #reindex()} after such changes.
+ */
+public class IndexedDataRepository extends HashMapDataRepository {
+    private final Map<Class<?>, Map<String, PropertyIndex>> indexes = new HashMap<>();
+
+    @Override
+    public void save(Object object) {
+        if (object != null && !contains(object)) {
+            super.save(object);
+            for (Class<?> type : supertypesOf(object.getClass()))
+                indexes.getOrDefault(type, Collections.emptyMap()).values().forEach(index -> index.add(object));
+        }
+    }
+
+    @Override
+    protected <T> Collection<T> queryCandidates(BeanClass<T> beanClass, Map<String, Object> criteria) {
+        Collection<T> candidates = null;
+        for (Map.Entry<String, Object> criterion : criteria.entrySet()) {
+            Collection<T> matched = index(beanClass, criterion.getKey()).lookup(criterion.getValue());
+            if (candidates == null || matched.size() < candidates.size())
+                candidates = matched;
+        }
+        return candidates == null ? queryAll(beanClass.getType()) : candidates;
+    }
+
+    public void reindex() {
+        indexes.clear();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        indexes.clear();
+    }
+
+    private <T> PropertyIndex index(BeanClass<T> beanClass, String chain) {
+        return indexes.computeIfAbsent(beanClass.getType(), t -> new HashMap<>()).computeIfAbsent(chain, c -> {
+            PropertyIndex index = new PropertyIndex(QueryChain.compile(beanClass, chain));
+            queryAll(beanClass.getType()).forEach(index::add);
+            return index;
+        });
+    }
+
+    private static class PropertyIndex {
+        private final QueryChain<?> chain;
+        private final Map<Object, List<Object>> entries = new HashMap<>();
+
+        PropertyIndex(QueryChain<?> chain) {
+            this.chain = chain;
+        }
+
+        void add(Object object) {
+            entries.computeIfAbsent(chain.getPropertyValue(object), k -> new ArrayList<>()).add(object);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> Collection<T> lookup(Object value) {
+            return (Collection<T>) entries.getOrDefault(chain.convert(value), Collections.emptyList());
+        }
+    }
+}
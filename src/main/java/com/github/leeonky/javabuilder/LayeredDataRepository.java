@@ -0,0 +1,69 @@
+package com.github.leeonky.javabuilder;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+public class LayeredDataRepository extends AbstractDataRepository {
+    private final Deque<HashMapDataRepository> layers = new ArrayDeque<>(Collections.singleton(new HashMapDataRepository()));
+
+    public LayeredDataRepository savepoint() {
+        layers.push(new HashMapDataRepository());
+        return this;
+    }
+
+    public LayeredDataRepository rollback() {
+        if (layers.size() == 1)
+            throw new IllegalStateException("No savepoint to rollback");
+        layers.pop();
+        changed(Object.class);
+        return savepoint();
+    }
+
+    public LayeredDataRepository release() {
+        if (layers.size() == 1)
+            throw new IllegalStateException("No savepoint to release");
+        layers.pop();
+        return this;
+    }
+
+    @Override
+    public void save(Object object) {
+        if (object != null && layers.stream().noneMatch(layer -> layer.contains(object))) {
+            layers.peek().save(object);
+            changed(object.getClass());
+        }
+    }
+
+    @Override
+    public <T> Collection<T> queryAll(Class<T> type) {
+        Collection<T> result = Collections.emptyList();
+        for (Iterator<HashMapDataRepository> iterator = layers.descendingIterator(); iterator.hasNext(); ) {
+            Collection<T> objects = iterator.next().queryAll(type);
+            if (result.isEmpty())
+                result = objects;
+            else if (!objects.isEmpty())
+                result = concat(result, objects);
+        }
+        return result;
+    }
+
+    private static <T> Collection<T> concat(Collection<T> lower, Collection<T> upper) {
+        return new AbstractCollection<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                return Stream.concat(lower.stream(), upper.stream()).iterator();
+            }
+
+            @Override
+            public int size() {
+                return lower.size() + upper.size();
+            }
+        };
+    }
+
+    @Override
+    public void clear() {
+        layers.peek().clear();
+        changed(Object.class);
+    }
+}
@@ -1,7 +1,8 @@
 package com.github.leeonky.javabuilder;
 
 import com.github.leeonky.javabuilder.spec.TriFunction;
-import com.github.leeonky.javabuilder.spec.TypeHandler;
+import com.github.leeonky.javabuilder.spec.TypeHandlers;
+import com.github.leeonky.util.BeanClass;
 import com.github.leeonky.util.PropertyWriter;
 
 import java.math.BigDecimal;
@@ -9,17 +10,18 @@ import java.math.BigInteger;
 import java.time.*;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 public class PropertyBuilder {
     private static final LocalDate LOCAL_DATE_START = LocalDate.parse("1996-01-23");
     private static final LocalDateTime LOCAL_DATE_TIME_START = LocalDateTime.parse("1996-01-23T00:00:00");
     private static final LocalTime LOCAL_TIME_START = LocalTime.parse("00:00:00");
     private static final Instant INSTANT_START = Instant.parse("1996-01-23T00:00:00Z");
-    private List<TypeHandler<TriFunction>> setters = new ArrayList<>();
-    private List<Predicate> ignored = new ArrayList<>();
+    private final TypeHandlers<TriFunction> setters = new TypeHandlers<>();
+    private List<Predicate<PropertyWriter<?>>> ignored = new ArrayList<>();
     private Map<Predicate, TriFunction> propertyBuilders = new LinkedHashMap<>();
+    private final Map<Class<?>, List<DefaultValue>> plans = new ConcurrentHashMap<>();
 
     public static PropertyBuilder createDefaultPropertyBuilder() {
         return new PropertyBuilder()
@@ -56,50 +58,66 @@ public class PropertyBuilder {
 
     public <T, B> PropertyBuilder registerThroughType(Class<T> propertyType,
                                                       TriFunction<Class<T>, PropertyWriter<B>, BeanContext<B>, T> builder) {
-        setters.add(new TypeHandler<>(propertyType, builder));
+        setters.register(propertyType, builder);
+        plans.clear();
         return this;
     }
 
     public <B> PropertyBuilder registerThroughProperty(Predicate<PropertyWriter<B>> predicate,
                                                        TriFunction<PropertyWriter<B>, Object, BeanContext<B>, Object> builder) {
         propertyBuilders.put(predicate, builder);
+        plans.clear();
         return this;
     }
 
     public PropertyBuilder ignoredWhen(Predicate<PropertyWriter<?>> predicate) {
         ignored.add(predicate);
+        plans.clear();
         return this;
     }
 
-    @SuppressWarnings("unchecked")
     public <T> void assignDefaultValueToProperties(T object, BeanContext<T> beanContext) {
-        beanContext.getBeanClass().getPropertyWriters()
-                .values().stream()
-                .filter(propertyWriter -> ignored.stream().noneMatch(p -> p.test(propertyWriter)))
-                .filter(propertyWriter -> beanContext.isPropertyNotSpecified(propertyWriter.getName()))
-                .forEach(propertyWriter -> assignDefaultValueToProperty(object, propertyWriter, beanContext));
+        for (DefaultValue defaultValue : plan(beanContext.getBeanClass()))
+            if (beanContext.isPropertyNotSpecified(defaultValue.propertyWriter.getName()))
+                defaultValue.assignTo(object, beanContext);
     }
 
-    @SuppressWarnings("unchecked")
-    private void assignDefaultValueToProperty(Object object, PropertyWriter propertyWriter, BeanContext<?> beanContext) {
-        Stream.concat(buildValueFromMethodBuilder(propertyWriter, object, beanContext),
-                buildValueFromPropertyBuilder(propertyWriter, beanContext)).findFirst()
-                .ifPresent(value -> propertyWriter.setValue(object, value));
+    private List<DefaultValue> plan(BeanClass<?> beanClass) {
+        return plans.computeIfAbsent(beanClass.getType(), type -> createPlan(beanClass));
     }
 
-    @SuppressWarnings("unchecked")
-    private Stream<Object> buildValueFromMethodBuilder(PropertyWriter propertyWriter, Object object, BeanContext<?> beanContext) {
-        return propertyBuilders.entrySet().stream()
-                .filter(e -> e.getKey().test(propertyWriter))
-                .map(e -> e.getValue().apply(propertyWriter, object, beanContext));
+    private List<DefaultValue> createPlan(BeanClass<?> beanClass) {
+        List<DefaultValue> plan = new ArrayList<>();
+        for (PropertyWriter<?> propertyWriter : beanClass.getPropertyWriters().values())
+            if (ignored.stream().noneMatch(p -> p.test(propertyWriter)))
+                resolveValueBuilder(propertyWriter).ifPresent(valueBuilder -> plan.add(new DefaultValue(propertyWriter, valueBuilder)));
+        return plan;
     }
 
     @SuppressWarnings("unchecked")
-    private Stream<Object> buildValueFromPropertyBuilder(PropertyWriter propertyWriter, BeanContext<?> beanContext) {
-        return Stream.concat(setters.stream().filter(s -> s.isPreciseType(propertyWriter.getPropertyType())),
-                setters.stream().filter(s -> s.isBaseType(propertyWriter.getPropertyType())))
-                .map(t -> t.getHandler().apply(propertyWriter.getPropertyType(), propertyWriter, beanContext));
+    private Optional<TriFunction> resolveValueBuilder(PropertyWriter propertyWriter) {
+        Optional<TriFunction> methodBuilder = propertyBuilders.entrySet().stream()
+                .filter(e -> e.getKey().test(propertyWriter))
+                .findFirst()
+                .map(e -> (o, writer, beanContext) -> e.getValue().apply(writer, o, beanContext));
+        if (methodBuilder.isPresent())
+            return methodBuilder;
+        Class<?> propertyType = propertyWriter.getPropertyType();
+        return setters.handlerOf(propertyType).map(t -> (o, writer, beanContext) -> t.getHandler().apply(propertyType, writer, beanContext));
     }
 
-}
+    private static class DefaultValue {
+        private final PropertyWriter propertyWriter;
+        private final TriFunction valueBuilder;
+
+        DefaultValue(PropertyWriter<?> propertyWriter, TriFunction valueBuilder) {
+            this.propertyWriter = propertyWriter;
+            this.valueBuilder = valueBuilder;
+        }
 
+        @SuppressWarnings("unchecked")
+        void assignTo(Object object, BeanContext<?> beanContext) {
+            propertyWriter.setValue(object, valueBuilder.apply(object, propertyWriter, beanContext));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.leeonky.javabuilder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+class SequencePartitions {
+    static final String PARTITION = "javabuilder.sequence.partition";
+    static final String PARTITION_SIZE = "javabuilder.sequence.partitionSize";
+    static final String LOCK_FILE = "javabuilder.sequence.lockFile";
+    private static final int DEFAULT_PARTITION_SIZE = 1_000_000;
+    private static final Map<Path, Claim> claims = new ConcurrentHashMap<>();
+    private static final AtomicReference<SequenceStrategy> configured = new AtomicReference<>();
+
+    static SequenceStrategy configured() {
+        SequenceStrategy strategy = configured.get();
+        if (strategy == null)
+            try {
+                configured.compareAndSet(null, fromSystemProperties());
+                strategy = configured.get();
+            } catch (RuntimeException e) {
+                throw new IllegalStateException(String.format("Invalid sequence strategy configuration: %s", e.getMessage()), e);
+            }
+        return strategy;
+    }
+
+    static int claim(Path lockFile, int partitionSize) {
+        if (partitionSize <= 0)
+            throw new IllegalArgumentException(String.format("Invalid sequence partition size %d", partitionSize));
+        Claim claim = claims.computeIfAbsent(lockFile.toAbsolutePath().normalize(), path -> Claim.open(path, partitionSize));
+        if (claim.partitionSize != partitionSize)
+            throw new IllegalArgumentException(String.format("Sequence lock file '%s' was claimed with partition size %d, not %d",
+                    lockFile, claim.partitionSize, partitionSize));
+        return claim.partition;
+    }
+
+    private static SequenceStrategy fromSystemProperties() {
+        int partitionSize = intProperty(PARTITION_SIZE, DEFAULT_PARTITION_SIZE);
+        if (System.getProperty(PARTITION) != null)
+            return SequenceStrategy.partitioned(intProperty(PARTITION, 0), partitionSize);
+        String lockFile = System.getProperty(LOCK_FILE);
+        if (lockFile != null)
+            return SequenceStrategy.lockFile(Paths.get(lockFile), partitionSize);
+        return SequenceStrategy.LOCAL;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null)
+            return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("System property '%s' should be an int, but was '%s'", name, value), e);
+        }
+    }
+
+    private static class Claim {
+        private final int partitionSize;
+        private final int partition;
+        private final FileLock lock;
+
+        private Claim(int partitionSize, int partition, FileLock lock) {
+            this.partitionSize = partitionSize;
+            this.partition = partition;
+            this.lock = lock;
+        }
+
+        static Claim open(Path lockFile, int partitionSize) {
+            try {
+                FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                int partitions = Integer.MAX_VALUE / partitionSize;
+                for (int partition = 0; partition < partitions; partition++) {
+                    FileLock lock = tryLock(channel, partition);
+                    if (lock != null)
+                        return new Claim(partitionSize, partition, lock);
+                }
+                channel.close();
+            } catch (IOException e) {
+                throw new IllegalStateException(String.format("Cannot claim sequence partition from '%s'", lockFile), e);
+            }
+            throw new IllegalStateException(String.format("No free sequence partition in '%s'", lockFile));
+        }
+
+        private static FileLock tryLock(FileChannel channel, int partition) throws IOException {
+            try {
+                return channel.tryLock(partition, 1, false);
+            } catch (OverlappingFileLockException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.leeonky.javabuilder;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+class SequenceSpliterator<T> implements Spliterator<T> {
+    static final int SPLIT_SIZE = 1024;
+    private static final int UNBOUNDED = -1;
+    private final FactorySet factorySet;
+    private final Class<?> type;
+    private final IntFunction<T> builder;
+    private int next;
+    private final int end;
+
+    SequenceSpliterator(FactorySet factorySet, Class<?> type, IntFunction<T> builder) {
+        this(factorySet, type, builder, 0, UNBOUNDED);
+    }
+
+    private SequenceSpliterator(FactorySet factorySet, Class<?> type, IntFunction<T> builder, int from, int end) {
+        this.factorySet = factorySet;
+        this.type = type;
+        this.builder = builder;
+        next = from;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        int localSequence;
+        if (end == UNBOUNDED)
+            localSequence = factorySet.reserveSequences(type, 1);
+        else if (next < end)
+            localSequence = next++;
+        else
+            return false;
+        action.accept(builder.apply(factorySet.sequenceOf(localSequence)));
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (end == UNBOUNDED) {
+            int from = factorySet.reserveSequences(type, SPLIT_SIZE);
+            return new SequenceSpliterator<>(factorySet, type, builder, from, from + SPLIT_SIZE);
+        }
+        int remaining = end - next;
+        if (remaining < 2)
+            return null;
+        int from = next;
+        next += remaining / 2;
+        return new SequenceSpliterator<>(factorySet, type, builder, from, next);
+    }
+
+    @Override
+    public long estimateSize() {
+        return end == UNBOUNDED ? Long.MAX_VALUE : end - next;
+    }
+
+    @Override
+    public int characteristics() {
+        return end == UNBOUNDED ? 0 : SIZED | SUBSIZED;
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.leeonky.javabuilder;
+
+import java.nio.file.Path;
+
+public interface SequenceStrategy {
+    SequenceStrategy LOCAL = sequence -> sequence;
+
+    int sequenceOf(int localSequence);
+
+    static SequenceStrategy partitioned(int partition, int partitionSize) {
+        if (partition < 0 || partitionSize <= 0)
+            throw new IllegalArgumentException(String.format("Invalid sequence partition %d of size %d", partition, partitionSize));
+        if ((long) partition * partitionSize + partitionSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(String.format("Sequence partition %d of size %d overflows int", partition, partitionSize));
+        int offset = partition * partitionSize;
+        return sequence -> {
+            if (sequence > partitionSize)
+                throw new IllegalStateException(String.format("Sequence %d exceeds partition size %d", sequence, partitionSize));
+            return offset + sequence;
+        };
+    }
+
+    static SequenceStrategy lockFile(Path lockFile, int partitionSize) {
+        return partitioned(SequencePartitions.claim(lockFile, partitionSize), partitionSize);
+    }
+
+    static SequenceStrategy configured() {
+        return SequencePartitions.configured();
+    }
+}
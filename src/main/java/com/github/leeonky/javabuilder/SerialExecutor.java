@@ -0,0 +1,46 @@
+package com.github.leeonky.javabuilder;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+class SerialExecutor implements Executor {
+    private final Lock lock = new ReentrantLock();
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor executor;
+    private Runnable active;
+
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        lock.lock();
+        try {
+            tasks.add(() -> {
+                try {
+                    task.run();
+                } finally {
+                    scheduleNext();
+                }
+            });
+            if (active == null)
+                scheduleNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void scheduleNext() {
+        lock.lock();
+        try {
+            if ((active = tasks.poll()) != null)
+                executor.execute(active);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
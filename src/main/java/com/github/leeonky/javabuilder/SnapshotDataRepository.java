@@ -0,0 +1,443 @@
+package com.github.leeonky.javabuilder;
+
+import com.github.leeonky.util.BeanClass;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.*;
+import java.util.*;
+import java.util.function.Function;
+
+public class SnapshotDataRepository extends HashMapDataRepository {
+    private static final int MAGIC = 0x4A42534E;
+    private static final short VERSION = 3;
+    private static final byte NULL = 0, BEAN = 1, STRING = 2, BOOLEAN = 3, BYTE = 4, SHORT = 5, CHAR = 6, INT = 7,
+            LONG = 8, FLOAT = 9, DOUBLE = 10, ENUM = 11, TEXT = 12, DATE = 13, LIST = 14, SET = 15, MAP = 16, ARRAY = 17;
+    private static final List<Class<?>> TEXT_TYPES = Arrays.asList(BigDecimal.class, BigInteger.class, UUID.class,
+            LocalDate.class, LocalDateTime.class, LocalTime.class, Instant.class, OffsetDateTime.class,
+            ZonedDateTime.class, Duration.class, Period.class);
+    private static final List<Function<String, Object>> TEXT_PARSERS = Arrays.asList(BigDecimal::new, BigInteger::new,
+            UUID::fromString, LocalDate::parse, LocalDateTime::parse, LocalTime::parse, Instant::parse,
+            OffsetDateTime::parse, ZonedDateTime::parse, Duration::parse, Period::parse);
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (Class<?> type : Arrays.asList(boolean.class, byte.class, short.class, char.class, int.class, long.class,
+                float.class, double.class))
+            PRIMITIVES.put(type.getName(), type);
+    }
+
+    private final Path file;
+    private final String[] typeNames;
+    private final boolean[] savedTypes;
+    private final int[] counts;
+    private final ByteBuffer[] sections;
+    private final Class<?>[] types;
+    private final Object[][] instances;
+    private final boolean[] loaded;
+
+    public SnapshotDataRepository(Path file) {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 6 || buffer.getInt() != MAGIC)
+                throw new IllegalStateException(String.format("Invalid snapshot file '%s'", file));
+            short version = buffer.getShort();
+            if (version != VERSION)
+                throw new IllegalStateException(String.format("Unsupported snapshot version %d in '%s'", version, file));
+            int typeCount = buffer.getInt();
+            typeNames = new String[typeCount];
+            savedTypes = new boolean[typeCount];
+            counts = new int[typeCount];
+            sections = new ByteBuffer[typeCount];
+            types = new Class<?>[typeCount];
+            instances = new Object[typeCount][];
+            loaded = new boolean[typeCount];
+            int[] lengths = new int[typeCount];
+            for (int t = 0; t < typeCount; t++) {
+                typeNames[t] = readString(buffer);
+                savedTypes[t] = buffer.get() != 0;
+                counts[t] = buffer.getInt();
+                lengths[t] = buffer.getInt();
+            }
+            for (int t = 0; t < typeCount; t++) {
+                ByteBuffer section = buffer.slice();
+                section.limit(lengths[t]);
+                sections[t] = section;
+                buffer.position(buffer.position() + lengths[t]);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IllegalStateException(String.format("Invalid snapshot file '%s'", file), e);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Cannot read snapshot file '%s'", file), e);
+        }
+    }
+
+    public static void write(HashMapDataRepository repository, Path file) {
+        Encoder encoder = new Encoder(repository.savedObjects());
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            List<byte[]> sections = encoder.encodeSections();
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeInt(encoder.entries.size());
+            for (int t = 0; t < encoder.entries.size(); t++) {
+                Entry entry = encoder.entries.get(t);
+                writeString(output, entry.type.getName());
+                output.writeBoolean(entry.saved);
+                output.writeInt(entry.objects.size());
+                output.writeInt(sections.get(t).length);
+            }
+            for (byte[] section : sections)
+                output.write(section);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Cannot write snapshot file '%s'", file), e);
+        }
+    }
+
+    @Override
+    public <T> Collection<T> queryAll(Class<T> type) {
+        for (int t = 0; t < typeNames.length; t++)
+            if (savedTypes[t] && !loaded[t] && type.isAssignableFrom(typeOf(t)))
+                load(t);
+        return super.queryAll(type);
+    }
+
+    @Override
+    Map<Class<?>, List<Object>> savedObjects() {
+        for (int t = 0; t < typeNames.length; t++)
+            if (savedTypes[t] && !loaded[t])
+                load(t);
+        return super.savedObjects();
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(loaded, true);
+        super.clear();
+    }
+
+    private Class<?> typeOf(int typeIndex) {
+        if (types[typeIndex] == null)
+            types[typeIndex] = loadClass(typeNames[typeIndex]);
+        return types[typeIndex];
+    }
+
+    private Class<?> loadClass(String name) {
+        Class<?> primitive = PRIMITIVES.get(name);
+        if (primitive != null)
+            return primitive;
+        try {
+            return Class.forName(name, false, Optional.ofNullable(Thread.currentThread().getContextClassLoader())
+                    .orElse(SnapshotDataRepository.class.getClassLoader()));
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(String.format("Cannot load type '%s' of snapshot '%s'", name, file), e);
+        }
+    }
+
+    private void load(int typeIndex) {
+        Deque<Integer> pending = new ArrayDeque<>();
+        List<Integer> decoded = new ArrayList<>();
+        instantiate(typeIndex, pending);
+        try {
+            while (!pending.isEmpty()) {
+                int next = pending.poll();
+                decode(next, pending);
+                decoded.add(next);
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalStateException(String.format("Corrupted snapshot '%s'", file), e);
+        }
+        decoded.sort(Comparator.naturalOrder());
+        for (int t : decoded) {
+            loaded[t] = true;
+            if (savedTypes[t])
+                for (Object object : instances[t])
+                    save(object);
+        }
+    }
+
+    private void instantiate(int typeIndex, Deque<Integer> pending) {
+        if (instances[typeIndex] == null) {
+            BeanClass<?> beanClass = BeanClass.create(typeOf(typeIndex));
+            Object[] objects = new Object[counts[typeIndex]];
+            for (int i = 0; i < objects.length; i++)
+                objects[i] = beanClass.newInstance();
+            instances[typeIndex] = objects;
+            pending.add(typeIndex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void decode(int typeIndex, Deque<Integer> pending) {
+        ByteBuffer buffer = sections[typeIndex].duplicate();
+        BeanClass<Object> beanClass = (BeanClass<Object>) BeanClass.create(typeOf(typeIndex));
+        String[] properties = new String[buffer.getInt()];
+        for (int p = 0; p < properties.length; p++)
+            properties[p] = readString(buffer);
+        for (Object object : instances[typeIndex])
+            for (String property : properties)
+                beanClass.setPropertyValue(object, property, readValue(buffer, pending));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readValue(ByteBuffer buffer, Deque<Integer> pending) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case NULL:
+                return null;
+            case BEAN:
+                int typeIndex = buffer.getInt();
+                instantiate(typeIndex, pending);
+                return instances[typeIndex][buffer.getInt()];
+            case STRING:
+                return readString(buffer);
+            case BOOLEAN:
+                return buffer.get() != 0;
+            case BYTE:
+                return buffer.get();
+            case SHORT:
+                return buffer.getShort();
+            case CHAR:
+                return buffer.getChar();
+            case INT:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case FLOAT:
+                return buffer.getFloat();
+            case DOUBLE:
+                return buffer.getDouble();
+            case ENUM:
+                return Enum.valueOf((Class<Enum>) loadClass(readString(buffer)), readString(buffer));
+            case TEXT:
+                return TEXT_PARSERS.get(buffer.get()).apply(readString(buffer));
+            case DATE:
+                return new Date(buffer.getLong());
+            case LIST:
+            case SET:
+                int size = buffer.getInt();
+                Collection<Object> collection = tag == LIST ? new ArrayList<>(size) : new LinkedHashSet<>();
+                for (int i = 0; i < size; i++)
+                    collection.add(readValue(buffer, pending));
+                return collection;
+            case MAP:
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = buffer.getInt(); i > 0; --i)
+                    map.put(readValue(buffer, pending), readValue(buffer, pending));
+                return map;
+            case ARRAY:
+                Object array = Array.newInstance(loadClass(readString(buffer)), buffer.getInt());
+                for (int i = 0; i < Array.getLength(array); i++)
+                    Array.set(array, i, readValue(buffer, pending));
+                return array;
+            default:
+                throw new IllegalStateException(String.format("Corrupted snapshot '%s': unknown value tag %d", file, tag));
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static class Entry {
+        private final Class<?> type;
+        private final boolean saved;
+        private final List<Object> objects = new ArrayList<>();
+
+        Entry(Class<?> type, boolean saved) {
+            this.type = type;
+            this.saved = saved;
+        }
+    }
+
+    private static class Encoder {
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<Class<?>, Integer> unsavedEntries = new HashMap<>();
+        private final Map<Object, int[]> references = new IdentityHashMap<>();
+        private final Map<Class<?>, List<String>> properties = new HashMap<>();
+        private final Deque<Object> pending = new ArrayDeque<>();
+
+        Encoder(Map<Class<?>, List<Object>> savedObjects) {
+            savedObjects.forEach((type, objects) -> {
+                checkConstructor(type);
+                Entry entry = new Entry(type, true);
+                entries.add(entry);
+                for (Object object : objects)
+                    register(entries.size() - 1, object);
+            });
+            while (!pending.isEmpty()) {
+                Object object = pending.poll();
+                for (String property : propertiesOf(object.getClass()))
+                    discover(object.getClass(), property, readProperty(object, property));
+            }
+        }
+
+        private void register(int entryIndex, Object object) {
+            Entry entry = entries.get(entryIndex);
+            references.put(object, new int[]{entryIndex, entry.objects.size()});
+            entry.objects.add(object);
+            pending.add(object);
+        }
+
+        private void discover(Class<?> owner, String property, Object value) {
+            if (value == null || isPlainValue(value))
+                return;
+            if (value instanceof Collection)
+                ((Collection<?>) value).forEach(element -> discover(owner, property, element));
+            else if (value instanceof Map)
+                ((Map<?, ?>) value).forEach((k, v) -> {
+                    discover(owner, property, k);
+                    discover(owner, property, v);
+                });
+            else if (value.getClass().isArray())
+                for (int i = 0; i < Array.getLength(value); i++)
+                    discover(owner, property, Array.get(value, i));
+            else if (!references.containsKey(value)) {
+                checkBean(owner, property, value.getClass());
+                Integer entryIndex = unsavedEntries.get(value.getClass());
+                if (entryIndex == null) {
+                    entries.add(new Entry(value.getClass(), false));
+                    unsavedEntries.put(value.getClass(), entryIndex = entries.size() - 1);
+                }
+                register(entryIndex, value);
+            }
+        }
+
+        private void checkBean(Class<?> owner, String property, Class<?> type) {
+            String name = type.getName();
+            if (name.startsWith("java.") || name.startsWith("javax.") || type.isInterface()
+                    || Modifier.isAbstract(type.getModifiers()))
+                throw new IllegalStateException(String.format("Cannot snapshot value of type '%s' in property '%s.%s'",
+                        name, owner.getName(), property));
+            checkConstructor(type);
+        }
+
+        private static void checkConstructor(Class<?> type) {
+            try {
+                type.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(String.format("Cannot snapshot type '%s' without default constructor", type.getName()), e);
+            }
+        }
+
+        private List<String> propertiesOf(Class<?> type) {
+            return properties.computeIfAbsent(type, t -> new ArrayList<>(BeanClass.create(t).getPropertyWriters().keySet()));
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readProperty(Object object, String property) {
+            return ((BeanClass<Object>) BeanClass.create(object.getClass())).getPropertyValue(object, property);
+        }
+
+        List<byte[]> encodeSections() throws IOException {
+            List<byte[]> sections = new ArrayList<>();
+            for (Entry entry : entries) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream output = new DataOutputStream(bytes);
+                List<String> names = propertiesOf(entry.type);
+                output.writeInt(names.size());
+                for (String name : names)
+                    writeString(output, name);
+                for (Object object : entry.objects)
+                    for (String name : names)
+                        writeValue(output, readProperty(object, name));
+                output.flush();
+                sections.add(bytes.toByteArray());
+            }
+            return sections;
+        }
+
+        private void writeValue(DataOutputStream output, Object value) throws IOException {
+            if (value == null)
+                output.writeByte(NULL);
+            else if (value instanceof String) {
+                output.writeByte(STRING);
+                writeString(output, (String) value);
+            } else if (value instanceof Boolean) {
+                output.writeByte(BOOLEAN);
+                output.writeBoolean((Boolean) value);
+            } else if (value instanceof Byte) {
+                output.writeByte(BYTE);
+                output.writeByte((Byte) value);
+            } else if (value instanceof Short) {
+                output.writeByte(SHORT);
+                output.writeShort((Short) value);
+            } else if (value instanceof Character) {
+                output.writeByte(CHAR);
+                output.writeChar((Character) value);
+            } else if (value instanceof Integer) {
+                output.writeByte(INT);
+                output.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                output.writeByte(LONG);
+                output.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                output.writeByte(FLOAT);
+                output.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                output.writeByte(DOUBLE);
+                output.writeDouble((Double) value);
+            } else if (value instanceof Enum) {
+                output.writeByte(ENUM);
+                writeString(output, ((Enum<?>) value).getDeclaringClass().getName());
+                writeString(output, ((Enum<?>) value).name());
+            } else if (TEXT_TYPES.contains(value.getClass())) {
+                output.writeByte(TEXT);
+                output.writeByte(TEXT_TYPES.indexOf(value.getClass()));
+                writeString(output, value.toString());
+            } else if (value instanceof Date) {
+                output.writeByte(DATE);
+                output.writeLong(((Date) value).getTime());
+            } else if (value instanceof Collection) {
+                output.writeByte(value instanceof Set ? SET : LIST);
+                output.writeInt(((Collection<?>) value).size());
+                for (Object element : (Collection<?>) value)
+                    writeValue(output, element);
+            } else if (value instanceof Map) {
+                output.writeByte(MAP);
+                output.writeInt(((Map<?, ?>) value).size());
+                for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                    writeValue(output, e.getKey());
+                    writeValue(output, e.getValue());
+                }
+            } else if (value.getClass().isArray()) {
+                output.writeByte(ARRAY);
+                writeString(output, value.getClass().getComponentType().getName());
+                output.writeInt(Array.getLength(value));
+                for (int i = 0; i < Array.getLength(value); i++)
+                    writeValue(output, Array.get(value, i));
+            } else {
+                int[] reference = references.get(value);
+                output.writeByte(BEAN);
+                output.writeInt(reference[0]);
+                output.writeInt(reference[1]);
+            }
+        }
+
+        private static boolean isPlainValue(Object value) {
+            return value instanceof String || value instanceof Boolean || value instanceof Byte || value instanceof Short
+                    || value instanceof Character || value instanceof Integer || value instanceof Long || value instanceof Float
+                    || value instanceof Double || value instanceof Enum || value instanceof Date || TEXT_TYPES.contains(value.getClass());
+        }
+    }
+}
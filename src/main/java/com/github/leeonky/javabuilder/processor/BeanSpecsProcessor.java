@@ -0,0 +1,170 @@
+package com.github.leeonky.javabuilder.processor;
+
+import com.github.leeonky.javabuilder.BeanContext;
+import com.github.leeonky.javabuilder.BeanSpecs;
+import com.github.leeonky.javabuilder.BeanSpecsMetadata;
+import com.github.leeonky.javabuilder.Combination;
+import com.github.leeonky.javabuilder.Factory;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+public class BeanSpecsProcessor extends AbstractProcessor {
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement beanSpecs = processingEnv.getElementUtils().getTypeElement(BeanSpecs.class.getCanonicalName());
+        if (beanSpecs != null)
+            for (TypeElement typeElement : ElementFilter.typesIn(roundEnv.getRootElements()))
+                processType(beanSpecs, typeElement);
+        return false;
+    }
+
+    private void processType(TypeElement beanSpecs, TypeElement typeElement) {
+        beanSpecsType(beanSpecs, typeElement).ifPresent(type -> combinationMethods(typeElement, type)
+                .ifPresent(combinations -> generate(typeElement, type, combinations)));
+        for (TypeElement nested : ElementFilter.typesIn(typeElement.getEnclosedElements()))
+            processType(beanSpecs, nested);
+    }
+
+    private Optional<TypeMirror> beanSpecsType(TypeElement beanSpecs, TypeElement typeElement) {
+        if (typeElement.getKind() != ElementKind.CLASS || typeElement.getModifiers().contains(Modifier.ABSTRACT)
+                || !isAccessibleFromPackage(typeElement) || !hasAccessibleDefaultConstructor(typeElement)
+                || overridesGetType(beanSpecs, typeElement))
+            return Optional.empty();
+        return findBeanSpecsTypeArgument(beanSpecs, typeElement.asType());
+    }
+
+    private boolean isAccessibleFromPackage(TypeElement typeElement) {
+        for (Element element = typeElement; element.getKind() != ElementKind.PACKAGE; element = element.getEnclosingElement()) {
+            if (!(element instanceof TypeElement) || element.getModifiers().contains(Modifier.PRIVATE))
+                return false;
+            if (element.getEnclosingElement().getKind() != ElementKind.PACKAGE && !element.getModifiers().contains(Modifier.STATIC)
+                    && element.getKind() == ElementKind.CLASS)
+                return false;
+        }
+        return true;
+    }
+
+    private boolean hasAccessibleDefaultConstructor(TypeElement typeElement) {
+        return ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty()
+                        && !constructor.getModifiers().contains(Modifier.PRIVATE));
+    }
+
+    private boolean overridesGetType(TypeElement beanSpecs, TypeElement typeElement) {
+        return ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(typeElement)).stream()
+                .anyMatch(method -> method.getSimpleName().contentEquals("getType") && method.getParameters().isEmpty()
+                        && !method.getEnclosingElement().equals(beanSpecs));
+    }
+
+    private Optional<TypeMirror> findBeanSpecsTypeArgument(TypeElement beanSpecs, TypeMirror type) {
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (supertype.getKind() != TypeKind.DECLARED)
+                continue;
+            DeclaredType declaredType = (DeclaredType) supertype;
+            if (declaredType.asElement().equals(beanSpecs))
+                return declaredType.getTypeArguments().stream().<TypeMirror>map(TypeMirror.class::cast).findFirst()
+                        .filter(argument -> argument.getKind() == TypeKind.DECLARED);
+            Optional<TypeMirror> typeArgument = findBeanSpecsTypeArgument(beanSpecs, supertype);
+            if (typeArgument.isPresent())
+                return typeArgument;
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Map<String, ExecutableElement>> combinationMethods(TypeElement typeElement, TypeMirror type) {
+        TypeMirror beanContextType = processingEnv.getTypeUtils().getDeclaredType(
+                processingEnv.getElementUtils().getTypeElement(BeanContext.class.getCanonicalName()), type);
+        Map<String, ExecutableElement> combinations = new LinkedHashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(typeElement))) {
+            Combination combination = method.getAnnotation(Combination.class);
+            if (combination == null || !method.getModifiers().contains(Modifier.PUBLIC))
+                continue;
+            if (method.getModifiers().contains(Modifier.STATIC) || method.getParameters().size() != 1
+                    || !processingEnv.getTypeUtils().isAssignable(beanContextType, ((ExecutableType) processingEnv.getTypeUtils()
+                    .asMemberOf((DeclaredType) typeElement.asType(), method)).getParameterTypes().get(0))) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        String.format("Combination method '%s' should accept a single BeanContext, skip generating metadata", method),
+                        method);
+                return Optional.empty();
+            }
+            combinations.put(combination.value().isEmpty() ? method.getSimpleName().toString() : combination.value(), method);
+        }
+        return Optional.of(combinations);
+    }
+
+    private void generate(TypeElement typeElement, TypeMirror type, Map<String, ExecutableElement> combinations) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+        String className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + BeanSpecsMetadata.CLASS_NAME_SUFFIX;
+        String specsType = typeElement.getQualifiedName().toString();
+        try (PrintWriter writer = new PrintWriter(processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? className : packageName + "." + className, typeElement).openWriter())) {
+            if (!packageName.isEmpty())
+                writer.printf("package %s;%n%n", packageName);
+            writer.printf("public final class %s implements %s<%s, %s> {%n", className,
+                    BeanSpecsMetadata.class.getCanonicalName(), specsType, type);
+            writer.printf("    @Override%n    public %s newSpecs() {%n        return new %s();%n    }%n%n", specsType, specsType);
+            writer.printf("    @Override%n    @SuppressWarnings(\"unchecked\")%n    public Class<%s> getType() {%n        return (Class) %s.class;%n    }%n%n",
+                    type, processingEnv.getTypeUtils().erasure(type));
+            writer.printf("    @Override%n    public void registerCombinations(%s specs, %s<%s> factory) {%n",
+                    specsType, Factory.class.getCanonicalName(), type);
+            combinations.forEach((name, method) -> writer.printf("        factory.combinable(\"%s\", %s);%n",
+                    escape(name), bindCombination(method)));
+            writer.printf("    }%n}%n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Cannot generate metadata for '%s': %s", specsType, e.getMessage()), typeElement);
+        }
+    }
+
+    private String bindCombination(ExecutableElement method) {
+        if (method.getThrownTypes().stream().allMatch(this::isUnchecked))
+            return String.format("specs::%s", method.getSimpleName());
+        return String.format("beanContext -> {%n"
+                + "            try {%n"
+                + "                specs.%s(beanContext);%n"
+                + "            } catch (RuntimeException | Error e) {%n"
+                + "                throw e;%n"
+                + "            } catch (Throwable e) {%n"
+                + "                throw new IllegalStateException(e);%n"
+                + "            }%n"
+                + "        }", method.getSimpleName());
+    }
+
+    private boolean isUnchecked(TypeMirror thrownType) {
+        return processingEnv.getTypeUtils().isAssignable(thrownType, typeOf(RuntimeException.class))
+                || processingEnv.getTypeUtils().isAssignable(thrownType, typeOf(Error.class));
+    }
+
+    private TypeMirror typeOf(Class<?> type) {
+        return processingEnv.getElementUtils().getTypeElement(type.getCanonicalName()).asType();
+    }
+
+    private String escape(String name) {
+        return name.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -4,7 +4,7 @@ import java.util.*;
 import java.util.function.Consumer;
 
 public class ObjectTree {
-    private Map<Object, List<Object>> nodes = new HashMap<>();
+    private final Map<Object, List<Object>> nodes = new IdentityHashMap<>();
 
     public <T> T addNode(Object parent, T node) {
         nodes.computeIfAbsent(parent, k -> new ArrayList<>()).add(node);
@@ -12,11 +12,23 @@ public class ObjectTree {
     }
 
     public void foreach(Object root, Consumer<Object> consumer) {
-        nodes.getOrDefault(root, Collections.emptyList()).forEach(o -> consume(consumer, o));
+        Deque<Object> parents = new ArrayDeque<>();
+        Deque<Iterator<Object>> children = new ArrayDeque<>();
+        children.push(childrenOf(root));
+        while (!children.isEmpty()) {
+            if (children.peek().hasNext()) {
+                Object node = children.peek().next();
+                parents.push(node);
+                children.push(childrenOf(node));
+            } else {
+                children.pop();
+                if (!parents.isEmpty())
+                    consumer.accept(parents.pop());
+            }
+        }
     }
 
-    private void consume(Consumer<Object> consumer, Object o) {
-        nodes.getOrDefault(o, Collections.emptyList()).forEach(s -> consume(consumer, s));
-        consumer.accept(o);
+    private Iterator<Object> childrenOf(Object node) {
+        return nodes.getOrDefault(node, Collections.emptyList()).iterator();
     }
 }
@@ -1,11 +1,20 @@
 package com.github.leeonky.javabuilder.spec;
 
 import com.github.leeonky.util.BeanClass;
+import com.github.leeonky.util.PropertyReader;
+import com.github.leeonky.util.PropertyWriter;
 
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PropertyChain {
+    private static final ClassValue<Map<List<String>, Step[]>> pipelines = new ClassValue<Map<List<String>, Step[]>>() {
+        @Override
+        protected Map<List<String>, Step[]> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
     private final List<String> names;
 
     public PropertyChain(List<String> names) {
@@ -13,32 +22,37 @@ public class PropertyChain {
     }
 
     public void setTo(Object object, Object property) {
-        setTo(new LinkedList<>(names), object, property);
+        Step[] steps = pipeline(object);
+        Object targetObject = object;
+        for (int i = 0; i < steps.length - 1; i++)
+            targetObject = steps[i].read(targetObject);
+        steps[steps.length - 1].write(targetObject, property);
     }
 
     public Object getFrom(Object object) {
-        return getFrom(new LinkedList<>(names), object);
+        Object value = object;
+        for (Step step : pipeline(object))
+            value = step.read(value);
+        return value;
     }
 
-    @SuppressWarnings("unchecked")
-    private void setTo(LinkedList<String> properties, Object object, Object property) {
-        String targetPropertyName = properties.removeLast();
-        Object targetObject = getFrom(properties, object);
-        BeanClass.create((Class) targetObject.getClass()).setPropertyValue(targetObject, targetPropertyName, property);
-    }
-
-    @SuppressWarnings("unchecked")
-    private Object getFrom(LinkedList<String> properties, Object object) {
-        if (properties.isEmpty())
-            return object;
-        String firstProperty = properties.removeFirst();
-        return getFrom(properties, BeanClass.create((Class) object.getClass()).getPropertyValue(object, firstProperty));
+    private Step[] pipeline(Object object) {
+        Map<List<String>, Step[]> rootPipelines = pipelines.get(object.getClass());
+        Step[] steps = rootPipelines.get(names);
+        if (steps == null)
+            steps = rootPipelines.computeIfAbsent(names, k -> names.stream().map(Step::new).toArray(Step[]::new));
+        return steps;
     }
 
     public String getRootName() {
         return names.get(0);
     }
 
+    @Override
+    public String toString() {
+        return String.join(".", names);
+    }
+
     @Override
     public int hashCode() {
         return names.hashCode();
@@ -50,4 +64,56 @@ public class PropertyChain {
             return names.equals(((PropertyChain) obj).names);
         return super.equals(obj);
     }
+
+    private static class Step {
+        private final String name;
+        private volatile Accessor accessor;
+
+        Step(String name) {
+            this.name = name;
+        }
+
+        @SuppressWarnings("unchecked")
+        Object read(Object object) {
+            return accessor(object).getPropertyReader().getValue(object);
+        }
+
+        @SuppressWarnings("unchecked")
+        void write(Object object, Object value) {
+            accessor(object).getPropertyWriter().setValue(object, value);
+        }
+
+        private Accessor accessor(Object object) {
+            Accessor accessor = this.accessor;
+            if (accessor == null || accessor.type != object.getClass())
+                this.accessor = accessor = new Accessor(object.getClass(), name);
+            return accessor;
+        }
+    }
+
+    private static class Accessor {
+        private final Class<?> type;
+        private final String name;
+        private final BeanClass beanClass;
+        private volatile PropertyReader propertyReader;
+        private volatile PropertyWriter propertyWriter;
+
+        Accessor(Class<?> type, String name) {
+            this.type = type;
+            this.name = name;
+            beanClass = BeanClass.create(type);
+        }
+
+        PropertyReader getPropertyReader() {
+            if (propertyReader == null)
+                propertyReader = beanClass.getPropertyReader(name);
+            return propertyReader;
+        }
+
+        PropertyWriter getPropertyWriter() {
+            if (propertyWriter == null)
+                propertyWriter = beanClass.getPropertyWriter(name);
+            return propertyWriter;
+        }
+    }
 }
@@ -1,26 +1,42 @@
 package com.github.leeonky.javabuilder.spec;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 public class PropertySpec {
     private final QueryExpression queryExpression;
     private final PropertyChain propertyChain;
+    private final Supplier<?> original;
     private Supplier<?> supplier;
 
     public PropertySpec(PropertyChain propertyChain, Supplier<?> supplier, QueryExpression queryExpression) {
         this.propertyChain = propertyChain;
-        this.supplier = new SupplierOnce<>(supplier);
+        this.supplier = original = new SupplierOnce<>(supplier);
         this.queryExpression = queryExpression;
     }
 
+    public static void merge(List<PropertySpec> propertySpecs) {
+        int lastDefaultBuild = -1;
+        Map<Object, Integer> lastSameBuilds = new HashMap<>();
+        for (int i = propertySpecs.size() - 1; i >= 0; --i) {
+            PropertySpec propertySpec = propertySpecs.get(i);
+            Integer lastSameBuild = lastSameBuilds.putIfAbsent(propertySpec.queryExpression.getBuildKey(), i);
+            int merged = Math.max(lastDefaultBuild, lastSameBuild == null ? -1 : lastSameBuild);
+            if (merged != -1)
+                propertySpec.supplier = propertySpecs.get(merged).original;
+            if (lastDefaultBuild == -1 && propertySpec.queryExpression.isDefaultBuild())
+                lastDefaultBuild = i;
+        }
+    }
+
     public void apply(Object object) {
         propertyChain.setTo(object, supplier.get());
     }
 
-    public void tryMerge(PropertySpec propertySpec) {
-        if (queryExpression.sameWith(propertySpec.queryExpression)) {
-            supplier = propertySpec.supplier;
-        }
+    public Object getMergeKey() {
+        return queryExpression.getMergeKey();
     }
 
     public PropertyChain getPropertyChain() {
@@ -0,0 +1,159 @@
+package com.github.leeonky.javabuilder.spec;
+
+import com.github.leeonky.util.BeanClass;
+import com.github.leeonky.util.PropertyReader;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class QueryChain<T> {
+    private static final int MAX_CACHED_CHAINS = 4096;
+    private static final Pattern SPEC_WITH_COMBINATIONS = Pattern.compile("([^.]+)\\((.+)[, |,| ](.+)\\)\\.(.+)");
+    private static final Pattern SPEC = Pattern.compile("([^.]+)\\((.+)\\)\\.(.+)");
+    private static final Pattern PROPERTY_CHAIN = Pattern.compile("([^.]+)\\.(.+)");
+    private static final Pattern PROPERTY = Pattern.compile("([^.]+)");
+    private static final ClassValue<Map<String, QueryChain<?>>> cache = new ClassValue<Map<String, QueryChain<?>>>() {
+        @Override
+        protected Map<String, QueryChain<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final BeanClass<T> beanClass;
+    private final String baseName;
+    private final String[] combinations;
+    private final String specName, condition;
+    private volatile PropertyReader<T> propertyReader;
+    private volatile QueryChain<?> subChain;
+    private volatile Class<?> writePropertyType;
+    private volatile List<Object> targetKey;
+
+    private QueryChain(BeanClass<T> beanClass, String chain) {
+        this.beanClass = beanClass;
+        Matcher matcher;
+        if ((matcher = SPEC_WITH_COMBINATIONS.matcher(chain)).matches()) {
+            baseName = matcher.group(1);
+            combinations = matcher.group(2).split(", |,| ");
+            specName = matcher.group(3);
+            condition = matcher.group(4);
+        } else if ((matcher = SPEC.matcher(chain)).matches()) {
+            baseName = matcher.group(1);
+            combinations = new String[0];
+            specName = matcher.group(2);
+            condition = matcher.group(3);
+        } else if ((matcher = PROPERTY_CHAIN.matcher(chain)).matches()) {
+            baseName = matcher.group(1);
+            combinations = new String[0];
+            specName = null;
+            condition = matcher.group(2);
+        } else if ((matcher = PROPERTY.matcher(chain)).matches()) {
+            baseName = matcher.group(1);
+            combinations = new String[0];
+            specName = null;
+            condition = null;
+        } else
+            throw new IllegalStateException("Invalid query expression `" + chain + "`");
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> QueryChain<T> compile(BeanClass<T> beanClass, String chain) {
+        Map<String, QueryChain<?>> chains = cache.get(beanClass.getType());
+        QueryChain<?> queryChain = chains.get(chain);
+        if (queryChain == null) {
+            queryChain = new QueryChain<>(beanClass, chain);
+            if (chains.size() >= MAX_CACHED_CHAINS)
+                chains.clear();
+            QueryChain<?> cached = chains.putIfAbsent(chain, queryChain);
+            if (cached != null)
+                queryChain = cached;
+        }
+        return (QueryChain<T>) queryChain;
+    }
+
+    public QueryExpression<T> bind(Object value) {
+        return new QueryExpression<>(this, value);
+    }
+
+    public BeanClass<T> getBeanClass() {
+        return beanClass;
+    }
+
+    public String getBaseName() {
+        return baseName;
+    }
+
+    public String[] getCombinations() {
+        return combinations;
+    }
+
+    public String getSpecName() {
+        return specName;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public boolean isDefaultBuild() {
+        return specName == null && combinations.length == 0;
+    }
+
+    public Class<?> getWritePropertyType() {
+        if (writePropertyType == null)
+            writePropertyType = beanClass.getPropertyWriter(baseName).getPropertyType();
+        return writePropertyType;
+    }
+
+    public List<Object> getTargetKey() {
+        if (targetKey == null)
+            targetKey = Arrays.asList(beanClass.getType(), getWritePropertyType(), condition);
+        return targetKey;
+    }
+
+    public List<Object> getBuildKey() {
+        return Arrays.asList(specName, Arrays.asList(combinations));
+    }
+
+    public PropertyReader<T> getPropertyReader() {
+        if (propertyReader == null)
+            propertyReader = beanClass.getPropertyReader(baseName);
+        return propertyReader;
+    }
+
+    private QueryChain<?> getSubChain() {
+        if (subChain == null)
+            subChain = compile(getPropertyReader().getPropertyTypeWrapper(), condition);
+        return subChain;
+    }
+
+    @SuppressWarnings("unchecked")
+    public boolean matches(Object object, Object value) {
+        if (object == null)
+            return false;
+        Object propertyValue = ((PropertyReader) getPropertyReader()).getValue(object);
+        if (condition == null)
+            return Objects.equals(propertyValue, getPropertyReader().tryConvert(value));
+        return getSubChain().matches(propertyValue, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Object getPropertyValue(Object object) {
+        if (object == null)
+            return null;
+        Object propertyValue = ((PropertyReader) getPropertyReader()).getValue(object);
+        if (condition == null)
+            return propertyValue;
+        return getSubChain().getPropertyValue(propertyValue);
+    }
+
+    public Object convert(Object value) {
+        if (condition == null)
+            return getPropertyReader().tryConvert(value);
+        return getSubChain().convert(value);
+    }
+}
@@ -5,99 +5,84 @@ import com.github.leeonky.javabuilder.Builder;
 import com.github.leeonky.javabuilder.BuildingContext;
 import com.github.leeonky.javabuilder.FactorySet;
 import com.github.leeonky.util.BeanClass;
-import com.github.leeonky.util.PropertyReader;
 
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class QueryExpression<T> {
-    private final BeanClass<T> beanClass;
+    private final QueryChain<T> chain;
     private final Object value;
-    private final String baseName;
-    private final String[] combinations;
-    private final String specName, condition;
 
     public QueryExpression(BeanClass<T> beanClass, String chain, Object value) {
-        this.beanClass = beanClass;
-        this.value = value;
-        Matcher matcher;
-        if ((matcher = Pattern.compile("([^.]+)\\((.+)[, |,| ](.+)\\)\\.(.+)").matcher(chain)).matches()) {
-            baseName = matcher.group(1);
-            combinations = matcher.group(2).split(", |,| ");
-            specName = matcher.group(3);
-            condition = matcher.group(4);
-        } else if ((matcher = Pattern.compile("([^.]+)\\((.+)\\)\\.(.+)").matcher(chain)).matches()) {
-            baseName = matcher.group(1);
-            combinations = new String[0];
-            specName = matcher.group(2);
-            condition = matcher.group(3);
-        } else if ((matcher = Pattern.compile("([^.]+)\\.(.+)").matcher(chain)).matches()) {
-            baseName = matcher.group(1);
-            combinations = new String[0];
-            specName = null;
-            condition = matcher.group(2);
-        } else if ((matcher = Pattern.compile("([^.]+)").matcher(chain)).matches()) {
-            baseName = matcher.group(1);
-            combinations = new String[0];
-            specName = null;
-            condition = null;
-        } else
-            throw new IllegalStateException("Invalid query expression `" + chain + "`");
+        this(QueryChain.compile(beanClass, chain), value);
     }
 
-    private Class<?> getWritePropertyType() {
-        return beanClass.getPropertyWriter(baseName).getPropertyType();
+    QueryExpression(QueryChain<T> chain, Object value) {
+        this.chain = chain;
+        this.value = value;
     }
 
     private Builder<?> toBuilder(FactorySet factorySet, Class<?> type) {
-        return (specName != null ? factorySet.toBuild(specName) : factorySet.type(type))
-                .combine(combinations)
-                .property(condition, value);
+        return (chain.getSpecName() != null ? factorySet.toBuild(chain.getSpecName()) : factorySet.type(type))
+                .combine(chain.getCombinations())
+                .property(chain.getCondition(), value);
     }
 
     public boolean sameWith(QueryExpression another) {
-        return beanClass.getType().equals(another.beanClass.getType())
-                && getWritePropertyType().equals(another.getWritePropertyType())
-                && (isDefaultBuild(another) || (Arrays.equals(combinations, another.combinations) && Objects.equals(specName, another.specName)))
-                && Objects.equals(condition, another.condition)
+        return chain.getBeanClass().getType().equals(another.chain.getBeanClass().getType())
+                && chain.getWritePropertyType().equals(another.chain.getWritePropertyType())
+                && (another.chain.isDefaultBuild() || (Arrays.equals(chain.getCombinations(), another.chain.getCombinations())
+                && Objects.equals(chain.getSpecName(), another.chain.getSpecName())))
+                && Objects.equals(chain.getCondition(), another.chain.getCondition())
                 && Objects.equals(value, another.value);
     }
 
-    private boolean isDefaultBuild(QueryExpression another) {
-        return another.specName == null && another.combinations.length == 0;
+    public String getBaseName() {
+        return chain.getBaseName();
+    }
+
+    public Object getMergeKey() {
+        return Arrays.asList(chain.getTargetKey(), value);
+    }
+
+    public Object getBuildKey() {
+        return chain.getBuildKey();
+    }
+
+    public boolean isDefaultBuild() {
+        return chain.isDefaultBuild();
     }
 
-    @SuppressWarnings("unchecked")
     public boolean matches(Object object) {
-        if (object == null)
-            return false;
-        PropertyReader propertyReader = beanClass.getPropertyReader(baseName);
-        Object propertyValue = propertyReader.getValue(object);
-        if (condition == null)
-            return Objects.equals(propertyValue, propertyReader.tryConvert(value));
-        return new QueryExpression(propertyReader.getPropertyTypeWrapper(), condition, value).matches(propertyValue);
+        return chain.matches(object, value);
+    }
+
+    public Object getPropertyValue(Object object) {
+        return chain.getPropertyValue(object);
+    }
+
+    public Object getConvertedValue() {
+        return chain.convert(value);
     }
 
     private boolean queryTo(FactorySet factorySet, Map<String, Object> queried) {
-        if (condition == null) {
-            queried.put(baseName, value);
+        if (chain.getCondition() == null) {
+            queried.put(chain.getBaseName(), value);
             return true;
         }
-        return toBuilder(factorySet, beanClass.getPropertyReader(baseName).getPropertyType()).query().stream()
-                .peek(o -> queried.put(baseName, o))
+        return toBuilder(factorySet, chain.getPropertyReader().getPropertyType()).query().stream()
+                .peek(o -> queried.put(chain.getBaseName(), o))
                 .findFirst()
                 .isPresent();
     }
 
     public void queryOrCreateTo(FactorySet factorySet, BuildingContext buildingContext, BeanContextImpl<T> beanContext, Map<String, Object> queried, Set<String> created) {
         if (!queryTo(factorySet, queried)) {
-            beanContext.processSubCreate(baseName, toBuilder(factorySet, getWritePropertyType()),
-                    creator -> buildingContext.appendPropertiesSpec(new PropertySpec(beanContext.propertyChain(baseName), creator, this)));
-            created.add(baseName);
+            beanContext.processSubCreate(chain.getBaseName(), toBuilder(factorySet, chain.getWritePropertyType()),
+                    creator -> buildingContext.appendPropertiesSpec(new PropertySpec(beanContext.propertyChain(chain.getBaseName()), creator, this)));
+            created.add(chain.getBaseName());
         }
     }
 }
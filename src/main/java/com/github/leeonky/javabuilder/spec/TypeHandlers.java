@@ -0,0 +1,34 @@
+package com.github.leeonky.javabuilder.spec;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class TypeHandlers<F> {
+    private final List<TypeHandler<F>> handlers = new CopyOnWriteArrayList<>();
+    private final Map<Class<?>, TypeHandler<F>> preciseHandlers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<TypeHandler<F>>> resolvedHandlers = new ConcurrentHashMap<>();
+
+    public void register(Class<?> type, F handler) {
+        TypeHandler<F> typeHandler = new TypeHandler<>(type, handler);
+        handlers.add(typeHandler);
+        preciseHandlers.putIfAbsent(type, typeHandler);
+        resolvedHandlers.clear();
+    }
+
+    public Optional<TypeHandler<F>> handlerOf(Class<?> type) {
+        Optional<TypeHandler<F>> typeHandler = resolvedHandlers.get(type);
+        if (typeHandler == null)
+            resolvedHandlers.put(type, typeHandler = resolve(type));
+        return typeHandler;
+    }
+
+    private Optional<TypeHandler<F>> resolve(Class<?> type) {
+        TypeHandler<F> preciseHandler = preciseHandlers.get(type);
+        if (preciseHandler != null)
+            return Optional.of(preciseHandler);
+        return handlers.stream().filter(s -> s.isBaseType(type)).findFirst();
+    }
+}
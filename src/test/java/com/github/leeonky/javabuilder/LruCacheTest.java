@@ -0,0 +1,24 @@
+package com.github.leeonky.javabuilder;
+
+import com.github.leeonky.javabuilder.spec.LruCache;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruCacheTest {
+    private final LruCache<String, Integer> cache = new LruCache<>(2);
+
+    @Test
+    void should_evict_least_recently_used_entry() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        cache.put("c", 3);
+
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}
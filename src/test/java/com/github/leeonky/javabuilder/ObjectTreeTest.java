@@ -23,4 +23,33 @@ class ObjectTreeTest {
 
         assertThat(result).isEqualTo(asList(3, 4, 2));
     }
+
+    @Test
+    void should_use_identity_of_nodes() {
+        ObjectTree objectTree = new ObjectTree();
+        String parent = new String("parent");
+        objectTree.addNode(parent, "child");
+
+        List<Object> children = new ArrayList<>();
+        objectTree.foreach(new String("parent"), children::add);
+        assertThat(children).isEmpty();
+
+        objectTree.foreach(parent, children::add);
+        assertThat(children).containsExactly("child");
+    }
+
+    @Test
+    void should_traverse_deep_tree_without_recursion() {
+        ObjectTree objectTree = new ObjectTree();
+        Object root = new Object();
+        Object parent = root;
+        for (int i = 0; i < 100000; i++)
+            parent = objectTree.addNode(parent, new Object());
+
+        List<Object> nodes = new ArrayList<>();
+        objectTree.foreach(root, nodes::add);
+
+        assertThat(nodes).hasSize(100000);
+        assertThat(nodes.get(0)).isSameAs(parent);
+    }
 }
\ No newline at end of file
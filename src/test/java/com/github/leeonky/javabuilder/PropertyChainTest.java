@@ -0,0 +1,55 @@
+package com.github.leeonky.javabuilder;
+
+import com.github.leeonky.javabuilder.spec.PropertyChain;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyChainTest {
+    private final PropertyChain propertyChain = new PropertyChain(asList("customer", "address", "city"));
+
+    @Test
+    void get_and_set_through_property_chain() {
+        Order order = new Order();
+        order.customer = new Customer();
+        order.customer.address = new Address();
+
+        propertyChain.setTo(order, "Beijing");
+
+        assertThat(order.customer.address.city).isEqualTo("Beijing");
+        assertThat(propertyChain.getFrom(order)).isEqualTo("Beijing");
+    }
+
+    @Test
+    void should_resolve_property_of_runtime_type_in_chain() {
+        Order order = new Order();
+        order.customer = new Customer();
+        order.customer.address = new Address();
+        Order anotherOrder = new Order();
+        anotherOrder.customer = new Customer();
+        anotherOrder.customer.address = new ForeignAddress();
+
+        propertyChain.setTo(order, "Beijing");
+        propertyChain.setTo(anotherOrder, "London");
+
+        assertThat(propertyChain.getFrom(order)).isEqualTo("Beijing");
+        assertThat(propertyChain.getFrom(anotherOrder)).isEqualTo("London");
+    }
+
+    public static class Order {
+        public Customer customer;
+    }
+
+    public static class Customer {
+        public Address address;
+    }
+
+    public static class Address {
+        public String city;
+    }
+
+    public static class ForeignAddress extends Address {
+        public String country;
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.leeonky.javabuilder;
+
+import com.github.leeonky.javabuilder.spec.TypeHandler;
+import com.github.leeonky.javabuilder.spec.TypeHandlers;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeHandlersTest {
+    private final TypeHandlers<String> typeHandlers = new TypeHandlers<>();
+
+    @Test
+    void should_prefer_precise_type_to_base_type() {
+        typeHandlers.register(Number.class, "number");
+        typeHandlers.register(Integer.class, "integer");
+
+        assertThat(typeHandlers.handlerOf(Integer.class).map(TypeHandler::getHandler)).contains("integer");
+        assertThat(typeHandlers.handlerOf(Long.class).map(TypeHandler::getHandler)).contains("number");
+        assertThat(typeHandlers.handlerOf(String.class)).isEmpty();
+    }
+
+    @Test
+    void should_use_first_registered_handler_of_same_type() {
+        typeHandlers.register(Integer.class, "first");
+        typeHandlers.register(Integer.class, "second");
+
+        assertThat(typeHandlers.handlerOf(Integer.class).map(TypeHandler::getHandler)).contains("first");
+    }
+
+    @Test
+    void should_resolve_again_after_register_new_handler() {
+        typeHandlers.register(Number.class, "number");
+        typeHandlers.handlerOf(Integer.class);
+
+        typeHandlers.register(Integer.class, "integer");
+
+        assertThat(typeHandlers.handlerOf(Integer.class).map(TypeHandler::getHandler)).contains("integer");
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.leeonky.javabuilder.processor;
+
+import com.github.leeonky.javabuilder.BeanSpecs;
+import com.github.leeonky.javabuilder.FactorySet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BeanSpecsProcessorTest {
+    private static final String SOURCE = "package sample;\n" +
+            "import com.github.leeonky.javabuilder.*;\n" +
+            "public class Specs {\n" +
+            "    public static class Bean {\n" +
+            "        private String str;\n" +
+            "        public String getStr() { return str; }\n" +
+            "        public void setStr(String str) { this.str = str; }\n" +
+            "    }\n" +
+            "    public static class ABean extends BeanSpecs<Bean> {\n" +
+            "        @Combination\n" +
+            "        public void hello(BeanContext<Bean> beanContext) { beanContext.property(\"str\").value(\"hello\"); }\n" +
+            "        @Combination(\"failed\")\n" +
+            "        public void fail(BeanContext<Bean> beanContext) throws Exception { throw new Exception(\"failed\"); }\n" +
+            "    }\n" +
+            "    private static class Hidden extends BeanSpecs<Bean> {\n" +
+            "    }\n" +
+            "}\n";
+
+    private Path output;
+    private ClassLoader classLoader;
+
+    @BeforeEach
+    void compileWithProcessor() throws IOException {
+        Path source = Files.createTempDirectory("source").resolve("Specs.java");
+        Files.write(source, SOURCE.getBytes(StandardCharsets.UTF_8));
+        output = Files.createTempDirectory("output");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertThat(compiler.run(null, null, null, "-proc:only", "-processor", BeanSpecsProcessor.class.getName(),
+                "-cp", System.getProperty("java.class.path"), "-s", output.toString(), source.toString())).isEqualTo(0);
+        assertThat(compiler.run(null, null, null, "-cp", System.getProperty("java.class.path"), "-d", output.toString(),
+                source.toString(), output.resolve("sample/Specs$ABean_BeanSpecsMetadata.java").toString())).isEqualTo(0);
+        classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    @Test
+    void should_generate_metadata_only_for_accessible_specs() {
+        assertThat(output.resolve("sample/Specs$ABean_BeanSpecsMetadata.java")).exists();
+        assertThat(output.resolve("sample/Specs$Hidden_BeanSpecsMetadata.java")).doesNotExist();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_build_through_generated_metadata() throws Exception {
+        Class<? extends BeanSpecs<Object>> specs = (Class<? extends BeanSpecs<Object>>) classLoader.loadClass("sample.Specs$ABean");
+        FactorySet factorySet = new FactorySet();
+
+        Object bean = factorySet.toBuild(specs).combine("hello").build();
+
+        assertThat(bean.getClass().getName()).isEqualTo("sample.Specs$Bean");
+        assertThat(bean).hasFieldOrPropertyWithValue("str", "hello");
+        assertThatThrownBy(() -> factorySet.toBuild(specs).combine("failed").build())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("failed");
+    }
+}
@@ -1,15 +1,31 @@
 package com.github.leeonky.javabuilder.spec;
 
+import com.github.leeonky.javabuilder.BuildListener;
+import com.github.leeonky.javabuilder.BuildMetrics;
 import com.github.leeonky.javabuilder.Builder;
+import com.github.leeonky.javabuilder.CompiledBuilder;
+import com.github.leeonky.javabuilder.DataRepository;
+import com.github.leeonky.javabuilder.Factory;
 import com.github.leeonky.javabuilder.FactorySet;
+import com.github.leeonky.javabuilder.SequenceStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,6 +41,13 @@ class BuildThroughBeanClass {
         private String stringValue;
     }
 
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    public static class BeanWrapper {
+        private Bean bean;
+    }
+
     @Nested
     class WithNoDefaultConstructor {
 
@@ -145,6 +168,168 @@ class BuildThroughBeanClass {
                 put("stringValue", "hello");
             }})).map(Builder::create).collect(Collectors.toList()).get(0)).hasFieldOrPropertyWithValue("stringValue", "hello");
         }
+
+        @Test
+        void should_build_and_create_through_compiled_builder() {
+            factorySet.onBuild(Bean.class, (bean, beanContext) -> bean.setStringValue("Hello" + beanContext.getCurrentSequence()));
+            CompiledBuilder<Bean> builder = factorySet.type(Bean.class).compile();
+
+            assertThat(builder.build().getStringValue()).isEqualTo("Hello1");
+            assertThat(builder.create().getStringValue()).isEqualTo("Hello2");
+            assertThat(factorySet.type(Bean.class).query()).hasSize(1);
+        }
+
+        @Test
+        void raise_error_when_compile_with_not_exist_combination() {
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> factorySet.type(Bean.class).combine("com").compile());
+
+            assertThat(exception).hasMessageContaining("Combination 'com' not exist");
+        }
+
+        @Test
+        void should_build_objects_lazily_in_stream() {
+            factorySet.onBuild(Bean.class, (bean, beanContext) -> bean.setStringValue("Hello" + beanContext.getCurrentSequence()));
+            Stream<Bean> stream = factorySet.type(Bean.class).stream();
+
+            assertThat(factorySet.type(Bean.class).build().getStringValue()).isEqualTo("Hello1");
+            assertThat(stream.limit(2).map(Bean::getStringValue).collect(Collectors.toList()))
+                    .containsExactly("Hello2", "Hello3");
+        }
+
+        @Test
+        void should_create_objects_in_stream() {
+            List<Bean> beans = factorySet.type(Bean.class).createStream().limit(2).collect(Collectors.toList());
+
+            assertThat(factorySet.type(Bean.class).query()).containsOnlyElementsOf(beans).hasSize(2);
+        }
+
+        @Test
+        void should_build_objects_with_unique_sequence_in_parallel_stream() {
+            factorySet.onBuild(Bean.class, (bean, beanContext) -> bean.setStringValue("Hello" + beanContext.getCurrentSequence()));
+
+            assertThat(factorySet.type(Bean.class).stream().parallel().limit(1000)
+                    .map(Bean::getStringValue).collect(Collectors.toSet())).hasSize(1000);
+        }
+
+        @Test
+        void should_reserve_non_overlapping_sequence_range_for_each_split() {
+            factorySet.onBuild(Bean.class, (bean, beanContext) -> bean.setStringValue("Hello" + beanContext.getCurrentSequence()));
+            Spliterator<Bean> spliterator = factorySet.type(Bean.class).stream().spliterator();
+            Spliterator<Bean> split = spliterator.trySplit();
+            Spliterator<Bean> splitOfSplit = split.trySplit();
+            List<String> values = new ArrayList<>();
+
+            split.tryAdvance(bean -> values.add(bean.getStringValue()));
+            splitOfSplit.tryAdvance(bean -> values.add(bean.getStringValue()));
+            splitOfSplit.tryAdvance(bean -> values.add(bean.getStringValue()));
+            spliterator.tryAdvance(bean -> values.add(bean.getStringValue()));
+
+            assertThat(splitOfSplit.estimateSize()).isEqualTo(510);
+            assertThat(values).containsExactly("Hello513", "Hello1", "Hello2", "Hello1025");
+        }
+
+        @Test
+        void should_generate_unique_sequence_in_parallel_build() {
+            factorySet.onBuild(Bean.class, (bean, beanContext) -> bean.setStringValue("Hello" + beanContext.getCurrentSequence()));
+            Builder<Bean> builder = factorySet.type(Bean.class);
+
+            assertThat(IntStream.range(0, 1000).parallel()
+                    .mapToObj(i -> builder.build().getStringValue())
+                    .collect(Collectors.toSet())).hasSize(1000);
+        }
+    }
+
+    @Nested
+    class PartitionSequence {
+
+        @Test
+        void should_offset_sequence_by_partition() {
+            factorySet.sequenceStrategy(SequenceStrategy.partitioned(2, 100));
+
+            assertThat(factorySet.type(Bean.class).build().getStringValue()).isEqualTo("stringValue201");
+        }
+
+        @Test
+        void should_raise_error_when_sequence_exceeds_partition() {
+            factorySet.sequenceStrategy(SequenceStrategy.partitioned(0, 1));
+            factorySet.type(Bean.class).build();
+
+            assertThat(assertThrows(IllegalStateException.class, () -> factorySet.type(Bean.class).build()))
+                    .hasMessage("Sequence 2 exceeds partition size 1");
+        }
+
+        @Test
+        void should_claim_first_free_partition_from_lock_file() throws IOException {
+            Path lockFile = Files.createTempFile("sequence", ".lock");
+
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+                channel.lock(0, 1, false);
+                factorySet.sequenceStrategy(SequenceStrategy.lockFile(lockFile, 1000));
+            }
+
+            assertThat(factorySet.type(Bean.class).build().getStringValue()).isEqualTo("stringValue1001");
+        }
+
+        @Test
+        void should_reuse_claimed_partition_of_same_lock_file() throws IOException {
+            Path lockFile = Files.createTempFile("sequence", ".lock");
+            FactorySet another = new FactorySet();
+
+            factorySet.sequenceStrategy(SequenceStrategy.lockFile(lockFile, 1000));
+            another.sequenceStrategy(SequenceStrategy.lockFile(lockFile.getParent().resolve(".").resolve(lockFile.getFileName()), 1000));
+
+            assertThat(factorySet.type(Bean.class).build().getStringValue()).isEqualTo("stringValue1");
+            assertThat(another.type(Bean.class).build().getStringValue()).isEqualTo("stringValue1");
+        }
+
+        @Test
+        void should_raise_error_when_claim_lock_file_with_another_partition_size() throws IOException {
+            Path lockFile = Files.createTempFile("sequence", ".lock");
+            SequenceStrategy.lockFile(lockFile, 1000);
+
+            assertThat(assertThrows(IllegalArgumentException.class, () -> SequenceStrategy.lockFile(lockFile, 100)))
+                    .hasMessage(String.format("Sequence lock file '%s' was claimed with partition size 1000, not 100", lockFile));
+        }
+    }
+
+    @Nested
+    class ListenBuild {
+        private final BuildMetrics buildMetrics = new BuildMetrics();
+        private final List<String> events = new ArrayList<>();
+
+        @Test
+        void should_notify_listener_of_build_and_save() {
+            factorySet.addListener(buildMetrics).addListener(new BuildListener() {
+                @Override
+                public void onBuild(Factory<?> factory, String[] combinations, long nanos) {
+                    events.add("build " + factory.getName());
+                }
+
+                @Override
+                public void onSave(DataRepository dataRepository, int count, long nanos) {
+                    events.add("save " + count);
+                }
+            });
+
+            factorySet.type(Bean.class).create();
+            factorySet.type(Bean.class).build();
+
+            String bean = Bean.class.getName();
+            assertThat(events).containsExactly("build " + bean, "save 1", "build " + bean);
+            assertThat(buildMetrics.getBuilds().get(bean).getCount()).isEqualTo(2);
+            assertThat(buildMetrics.getNewInstances().get(bean).getCount()).isEqualTo(2);
+            assertThat(buildMetrics.getSaves().getCount()).isEqualTo(1);
+        }
+
+        @Test
+        void should_notify_listener_of_sub_build_in_spec() {
+            factorySet.addListener(buildMetrics);
+
+            factorySet.type(BeanWrapper.class).spec(beanContext -> beanContext.property("bean").type(Bean.class)).create();
+
+            assertThat(buildMetrics.getBuilds()).containsOnlyKeys(BeanWrapper.class.getName(), Bean.class.getName());
+            assertThat(buildMetrics.getNewInstances().get(Bean.class.getName()).getCount()).isEqualTo(1);
+        }
     }
 
     @Getter
@@ -101,6 +101,20 @@ class BuildThroughDefaultFactory {
                 .hasFieldOrPropertyWithValue("intValue", 0);
     }
 
+    @Test
+    void should_apply_property_builder_registered_after_first_build() {
+        factorySet.type(Bean.class).create();
+
+        factorySet.getPropertyBuilder()
+                .registerThroughProperty(m -> m.getName().equals("stringValue"),
+                        (m, o, buildContext) -> "registered" + buildContext.getCurrentSequence())
+                .ignoredWhen(m -> m.getName().equals("intValue"));
+
+        assertThat(factorySet.type(Bean.class).create())
+                .hasFieldOrPropertyWithValue("stringValue", "registered2")
+                .hasFieldOrPropertyWithValue("intValue", 0);
+    }
+
     @Test
     void should_skip_default_property_build_when_specify_value_in_properties() {
         factorySet.getPropertyBuilder().registerThroughType(Bean.class, (cl, pw, bc) -> {
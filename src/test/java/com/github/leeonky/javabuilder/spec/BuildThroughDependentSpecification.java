@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class BuildThroughDependentSpecification {
     private final FactorySet factorySet = new FactorySet();
@@ -54,6 +55,16 @@ class BuildThroughDependentSpecification {
             }
         }
 
+        public static class CircularDependency extends BeanSpecs<Product> {
+
+            @Override
+            public void specs(BeanContext<Product> beanContext) {
+                beanContext.property("discount").dependsOn("price", (price) -> price);
+                beanContext.property("price").dependsOn("tax", (tax) -> tax);
+                beanContext.property("tax").dependsOn("discount", (discount) -> discount);
+            }
+        }
+
         public static class OverrideSupplierWhenDefineDependency extends BeanSpecs<Product> {
 
             @Override
@@ -139,6 +150,13 @@ class BuildThroughDependentSpecification {
             assertThat(factorySet.toBuild(Objects.OverrideSupplierWhenDefineDependency.class).property("price", 10000).create())
                     .hasFieldOrPropertyWithValue("tax", 1000);
         }
+
+        @Test
+        void should_raise_error_when_dependencies_are_circular() {
+            assertThatThrownBy(() -> factorySet.toBuild(Objects.CircularDependency.class).create())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Circular dependency: discount -> price -> tax -> discount");
+        }
     }
 
     @Nested
@@ -104,6 +104,22 @@ class BuildThroughSpec {
                 .isEqualTo(200);
     }
 
+    @Test
+    void should_raise_runtime_exception_from_combination_directly() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> factorySet.toBuild(Objects.USD.class).combine("invalid").create());
+
+        assertThat(exception).hasMessage("Invalid amount");
+    }
+
+    @Test
+    void should_wrap_checked_exception_from_combination() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> factorySet.toBuild(Objects.USD.class).combine("unavailable").create());
+
+        assertThat(exception.getCause()).hasMessage("Unavailable amount");
+    }
+
     @Test
     void property_build_has_higher_priority_then_spec_in_specs() {
         assertThat(factorySet.toBuild(Objects.ProductInUSD.class).property("price.currency", "CNY").create().getPrice())
@@ -199,6 +215,16 @@ class BuildThroughSpec {
             public void combination200(BeanContext<Money> beanContext) {
                 beanContext.property("amount").value(200);
             }
+
+            @Combination
+            public void invalid(BeanContext<Money> beanContext) {
+                throw new IllegalArgumentException("Invalid amount");
+            }
+
+            @Combination
+            public void unavailable(BeanContext<Money> beanContext) throws Exception {
+                throw new Exception("Unavailable amount");
+            }
         }
 
         public static class ConflictNameUSD extends BeanSpecs<Money> {
@@ -1,18 +1,48 @@
 package com.github.leeonky.javabuilder.spec;
 
+import com.github.leeonky.javabuilder.AsyncDataRepository;
 import com.github.leeonky.javabuilder.BeanContext;
 import com.github.leeonky.javabuilder.BeanSpecs;
+import com.github.leeonky.javabuilder.Builder;
+import com.github.leeonky.javabuilder.CachingDataRepository;
 import com.github.leeonky.javabuilder.Combination;
+import com.github.leeonky.javabuilder.ConcurrentDataRepository;
+import com.github.leeonky.javabuilder.DataRepository;
 import com.github.leeonky.javabuilder.FactorySet;
+import com.github.leeonky.javabuilder.HashMapDataRepository;
+import com.github.leeonky.javabuilder.IndexedDataRepository;
+import com.github.leeonky.javabuilder.LayeredDataRepository;
+import com.github.leeonky.javabuilder.SnapshotDataRepository;
+import com.github.leeonky.util.BeanClass;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class BuildWithRepository {
     private final FactorySet factorySet = new FactorySet();
@@ -57,6 +87,61 @@ class BuildWithRepository {
         private Category from, to;
     }
 
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    public static class Author {
+        private String name;
+        private Book latest;
+    }
+
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    public static class Book {
+        private String name;
+        private Author author;
+    }
+
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    public static class Shelf {
+        private Book book;
+    }
+
+    public enum Format {
+        PAPER, EBOOK
+    }
+
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    public static class Publisher {
+        private String name;
+    }
+
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    public static class Edition {
+        private Publisher publisher;
+        private Format format;
+        private BigDecimal price;
+        private LocalDate published;
+        private List<String> tags;
+    }
+
+    @Getter
+    @Setter
+    public static class Signature {
+        private String by;
+
+        public Signature(String by) {
+            this.by = by;
+        }
+    }
+
     public static class CategorySpec extends BeanSpecs<Category> {
     }
 
@@ -195,4 +280,557 @@ class BuildWithRepository {
             assertThat(categoryRange.from).isEqualTo(categoryRange.to);
         }
     }
+
+    @Nested
+    class QueryThroughIndexedRepository {
+        private final FactorySet factorySet = new FactorySet(new IndexedDataRepository());
+
+        @Test
+        void should_query_object_by_indexed_property() {
+            Category math = factorySet.type(Category.class).property("name", "math").create();
+            factorySet.type(Category.class).property("name", "art").create();
+
+            assertThat(factorySet.type(Category.class).property("name", "math").query()).containsOnly(math);
+            assertThat(factorySet.type(Category.class).property("name", "music").query()).isEmpty();
+        }
+
+        @Test
+        void should_update_index_when_save_new_object() {
+            Category math = factorySet.type(Category.class).property("name", "math").create();
+            factorySet.type(Category.class).property("name", "math").query();
+
+            Category anotherMath = factorySet.type(Category.class).property("name", "math").create();
+
+            assertThat(factorySet.type(Category.class).property("name", "math").query()).containsOnly(math, anotherMath);
+        }
+
+        @Test
+        void should_query_object_by_indexed_property_chain_with_auto_convert() {
+            Category category = factorySet.type(Category.class).property("level", 2).create();
+            Product product = factorySet.type(Product.class).property("category", category).create();
+
+            assertThat(factorySet.type(Product.class).property("category.level", "2").query()).containsOnly(product);
+            assertThat(factorySet.type(Order.class).property("product.category.level", "2").create().getProduct()).isEqualTo(product);
+        }
+
+        @Test
+        void should_clear_index() {
+            factorySet.type(Category.class).property("name", "math").create();
+            factorySet.type(Category.class).property("name", "math").query();
+
+            factorySet.getDataRepository().clear();
+
+            assertThat(factorySet.type(Category.class).property("name", "math").query()).isEmpty();
+        }
+
+        @Test
+        void should_query_changed_object_after_reindex() {
+            Category category = factorySet.type(Category.class).property("name", "math").create();
+            factorySet.type(Category.class).property("name", "math").query();
+
+            category.setName("art");
+            ((IndexedDataRepository) factorySet.getDataRepository()).reindex();
+
+            assertThat(factorySet.type(Category.class).property("name", "art").query()).containsOnly(category);
+            assertThat(factorySet.type(Category.class).property("name", "math").query()).isEmpty();
+        }
+    }
+
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    public static class SpecialProduct extends Product {
+        private String discount;
+    }
+
+    public static class AlwaysEqual {
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof AlwaysEqual;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    abstract class SaveThroughRepository {
+        final FactorySet factorySet = new FactorySet(createRepository());
+
+        abstract DataRepository createRepository();
+
+        @Test
+        void should_create_objects_asynchronously() {
+            List<CompletableFuture<Bean>> futures = IntStream.range(0, 1000)
+                    .mapToObj(i -> factorySet.type(Bean.class).createAsync())
+                    .collect(Collectors.toList());
+
+            List<Bean> beans = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+            assertThat(beans.stream().map(Bean::getIntValue).collect(Collectors.toSet())).hasSize(1000);
+            assertThat(factorySet.type(Bean.class).query()).containsOnlyElementsOf(beans).hasSize(1000);
+        }
+
+        @Test
+        void should_query_objects_in_saved_order() {
+            List<Bean> beans = IntStream.range(0, 100)
+                    .mapToObj(i -> factorySet.type(Bean.class).create())
+                    .collect(Collectors.toList());
+
+            assertThat(factorySet.type(Bean.class).query()).containsExactlyElementsOf(beans);
+        }
+
+        @Test
+        void should_save_objects_by_identity() {
+            AlwaysEqual bean = new AlwaysEqual(), another = new AlwaysEqual();
+
+            factorySet.getDataRepository().save(bean);
+            factorySet.getDataRepository().save(another);
+            factorySet.getDataRepository().save(bean);
+
+            assertThat(factorySet.type(AlwaysEqual.class).query()).containsExactly(bean, another);
+        }
+
+        @Test
+        void should_query_saved_objects_of_sub_types() {
+            Product product = factorySet.type(Product.class).property("name", "book").create();
+            SpecialProduct specialProduct = factorySet.type(SpecialProduct.class).property("name", "book").create();
+
+            assertThat(factorySet.type(Product.class).property("name", "book").query()).containsExactly(product, specialProduct);
+            assertThat(factorySet.type(SpecialProduct.class).property("name", "book").query()).containsExactly(specialProduct);
+        }
+
+        @Test
+        void should_clear_saved_objects() {
+            factorySet.type(Bean.class).create();
+            factorySet.type(SpecialProduct.class).create();
+
+            factorySet.getDataRepository().clear();
+
+            assertThat(factorySet.type(Bean.class).query()).isEmpty();
+            assertThat(factorySet.type(Product.class).query()).isEmpty();
+        }
+    }
+
+    @Nested
+    class SaveThroughHashMapRepository extends SaveThroughRepository {
+
+        @Override
+        DataRepository createRepository() {
+            return new HashMapDataRepository();
+        }
+
+        @Test
+        void should_not_save_concurrently_when_create_asynchronously() {
+            AtomicInteger saving = new AtomicInteger();
+            AtomicInteger maxSaving = new AtomicInteger();
+            FactorySet factorySet = new FactorySet(new HashMapDataRepository() {
+                @Override
+                public void saveAll(Collection<?> objects) {
+                    maxSaving.accumulateAndGet(saving.incrementAndGet(), Math::max);
+                    LockSupport.parkNanos(100_000);
+                    super.saveAll(objects);
+                    saving.decrementAndGet();
+                }
+            });
+
+            IntStream.range(0, 100).mapToObj(i -> factorySet.type(Bean.class).createAsync())
+                    .collect(Collectors.toList()).forEach(CompletableFuture::join);
+
+            assertThat(maxSaving).hasValue(1);
+            assertThat(factorySet.type(Bean.class).query()).hasSize(100);
+        }
+    }
+
+    @Nested
+    class RollbackThroughLayeredRepository {
+        private final LayeredDataRepository repository = new LayeredDataRepository();
+        private final FactorySet factorySet = new FactorySet(repository);
+        private Category math;
+
+        @BeforeEach
+        void createBaseData() {
+            math = factorySet.type(Category.class).property("name", "math").create();
+            repository.savepoint();
+        }
+
+        @Test
+        void should_query_objects_of_all_layers() {
+            Product product = factorySet.type(Product.class).property("category.name", "math").create();
+
+            assertThat(product.getCategory()).isSameAs(math);
+            assertThat(factorySet.type(Product.class).query()).containsExactly(product);
+        }
+
+        @Test
+        void should_discard_objects_saved_after_savepoint_when_rollback() {
+            factorySet.type(Category.class).property("name", "music").create();
+
+            repository.rollback();
+
+            assertThat(factorySet.type(Category.class).query()).containsExactly(math);
+            factorySet.type(Category.class).property("name", "art").create();
+            repository.rollback();
+            assertThat(factorySet.type(Category.class).query()).containsExactly(math);
+        }
+
+        @Test
+        void should_raise_error_when_rollback_without_savepoint() {
+            repository.release();
+
+            assertThatThrownBy(repository::rollback)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("No savepoint to rollback");
+        }
+    }
+
+    @Nested
+    class ReloadThroughSnapshot {
+        private final HashMapDataRepository repository = new HashMapDataRepository();
+        private final FactorySet factorySet = new FactorySet(repository);
+
+        private FactorySet reload() throws IOException {
+            Path snapshot = Files.createTempFile("repository", ".snapshot");
+            SnapshotDataRepository.write(repository, snapshot);
+            return new FactorySet(new SnapshotDataRepository(snapshot));
+        }
+
+        @Test
+        void should_reload_saved_object_graphs_from_snapshot() throws IOException {
+            factorySet.type(Book.class).property("name", "Java").property("author.name", "Tom").create();
+            factorySet.type(Book.class).property("name", "Go").property("author.name", "Tom").create();
+
+            FactorySet reloaded = reload();
+
+            List<Book> books = reloaded.type(Book.class).query();
+            assertThat(books).extracting(Book::getName).containsExactly("Java", "Go");
+            assertThat(books.get(0).getAuthor()).isSameAs(books.get(1).getAuthor())
+                    .isSameAs(reloaded.type(Author.class).property("name", "Tom").query().get(0));
+        }
+
+        @Test
+        void should_keep_identity_when_types_are_loaded_separately() throws IOException {
+            factorySet.type(Shelf.class).property("book.name", "Java").create();
+
+            FactorySet reloaded = reload();
+
+            Book book = reloaded.type(Book.class).query().get(0);
+            assertThat(reloaded.type(Shelf.class).query().get(0).getBook()).isSameAs(book);
+        }
+
+        @Test
+        void should_reload_objects_referencing_each_other() throws IOException {
+            Author author = new Author().setName("Tom");
+            Book book = new Book().setName("Java").setAuthor(author);
+            author.setLatest(book);
+            repository.save(author);
+            repository.save(book);
+
+            FactorySet reloaded = reload();
+
+            Author reloadedAuthor = reloaded.type(Author.class).query().get(0);
+            assertThat(reloadedAuthor.getLatest().getAuthor()).isSameAs(reloadedAuthor);
+            assertThat(reloaded.type(Book.class).query()).containsExactly(reloadedAuthor.getLatest());
+        }
+
+        @Test
+        void should_reload_property_values_and_shared_objects_not_saved() throws IOException {
+            Publisher publisher = new Publisher().setName("Tech");
+            repository.save(new Edition().setPublisher(publisher).setFormat(Format.EBOOK).setPrice(new BigDecimal("9.90"))
+                    .setPublished(LocalDate.of(2020, 1, 2)).setTags(asList("java", "test")));
+            repository.save(new Edition().setPublisher(publisher));
+
+            List<Edition> editions = reload().type(Edition.class).query();
+
+            assertThat(editions.get(0).getPublisher()).isSameAs(editions.get(1).getPublisher())
+                    .hasFieldOrPropertyWithValue("name", "Tech");
+            assertThat(editions.get(0)).hasFieldOrPropertyWithValue("format", Format.EBOOK)
+                    .hasFieldOrPropertyWithValue("price", new BigDecimal("9.90"))
+                    .hasFieldOrPropertyWithValue("published", LocalDate.of(2020, 1, 2))
+                    .hasFieldOrPropertyWithValue("tags", asList("java", "test"));
+        }
+
+        @Test
+        void should_raise_error_when_type_has_no_default_constructor() throws IOException {
+            repository.save(new Signature("Tom"));
+            Path snapshot = Files.createTempFile("repository", ".snapshot");
+
+            assertThatThrownBy(() -> SnapshotDataRepository.write(repository, snapshot))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage(String.format("Cannot snapshot type '%s' without default constructor", Signature.class.getName()));
+        }
+
+        @Test
+        void should_raise_error_when_file_is_not_snapshot() throws IOException {
+            Path file = Files.createTempFile("repository", ".snapshot");
+            Files.write(file, "not a snapshot".getBytes());
+
+            assertThatThrownBy(() -> new SnapshotDataRepository(file))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage(String.format("Invalid snapshot file '%s'", file));
+        }
+    }
+
+    @Nested
+    class SaveThroughAsyncRepository {
+        private final HashMapDataRepository repository = new HashMapDataRepository();
+        private final List<CompletableFuture<Void>> pendingSaves = new ArrayList<>();
+        private final FactorySet factorySet = new FactorySet(new AsyncDataRepository() {
+            @Override
+            public CompletionStage<Void> save(Object object) {
+                return saveAll(singletonList(object));
+            }
+
+            @Override
+            public CompletionStage<Void> saveAll(Collection<?> objects) {
+                CompletableFuture<Void> saved = new CompletableFuture<>();
+                pendingSaves.add(saved);
+                return saved.thenRun(() -> repository.saveAll(objects));
+            }
+
+            @Override
+            public <T> CompletionStage<List<T>> query(BeanClass<T> beanClass, Map<String, Object> criteria) {
+                return CompletableFuture.completedFuture(repository.query(beanClass, criteria));
+            }
+
+            @Override
+            public CompletionStage<Void> clear() {
+                repository.clear();
+                return CompletableFuture.completedFuture(null);
+            }
+        });
+
+        @Test
+        void should_complete_creation_after_graph_is_saved() {
+            CompletableFuture<Product> product = factorySet.type(Product.class).property("category.name", "math")
+                    .createAsync(Runnable::run);
+
+            assertThat(product).isNotDone();
+            assertThat(pendingSaves).hasSize(1);
+
+            pendingSaves.get(0).complete(null);
+
+            assertThat(product).isDone();
+            assertThat(factorySet.type(Category.class).property("name", "math").query()).containsOnly(product.join().getCategory());
+        }
+
+        @Test
+        void should_save_referenced_object_before_referencing_object_by_default() {
+            List<String> logs = new ArrayList<>();
+            Map<Class<?>, CompletableFuture<Void>> pending = new HashMap<>();
+            FactorySet factorySet = new FactorySet(new AsyncDataRepository() {
+                @Override
+                public CompletionStage<Void> save(Object object) {
+                    logs.add("start " + object.getClass().getSimpleName());
+                    CompletableFuture<Void> saved = new CompletableFuture<>();
+                    pending.put(object.getClass(), saved);
+                    return saved.thenRun(() -> logs.add("done " + object.getClass().getSimpleName()));
+                }
+
+                @Override
+                public <T> CompletionStage<List<T>> query(BeanClass<T> beanClass, Map<String, Object> criteria) {
+                    return CompletableFuture.completedFuture(repository.query(beanClass, criteria));
+                }
+
+                @Override
+                public CompletionStage<Void> clear() {
+                    return CompletableFuture.completedFuture(null);
+                }
+            });
+
+            CompletableFuture<Product> product = factorySet.type(Product.class).property("category.name", "math")
+                    .createAsync(Runnable::run);
+            assertThat(pending).containsOnlyKeys(Category.class);
+            pending.get(Category.class).complete(null);
+            pending.get(Product.class).complete(null);
+
+            assertThat(product).isDone();
+            assertThat(logs).containsExactly("start Category", "done Category", "start Product", "done Product");
+        }
+    }
+
+    @Nested
+    class QueryThroughCachingRepository {
+        private final List<Map<String, Object>> queries = new ArrayList<>();
+        private final FactorySet factorySet = new FactorySet(new CachingDataRepository(new HashMapDataRepository() {
+            @Override
+            public <T> List<T> query(BeanClass<T> beanClass, Map<String, Object> criteria) {
+                queries.add(criteria);
+                return super.query(beanClass, criteria);
+            }
+        }));
+
+        @Test
+        void should_reuse_query_result_of_same_type_and_criteria() {
+            Category math = factorySet.type(Category.class).property("name", "math").create();
+            queries.clear();
+
+            List<Product> products = factorySet.type(Product.class).property("category.name", "math").createMany(3);
+
+            assertThat(products).extracting(Product::getCategory).containsOnly(math);
+            assertThat(queries).hasSize(1);
+        }
+
+        @Test
+        void should_query_again_after_save_object_of_same_or_sub_type() {
+            factorySet.type(Product.class).property("name", "book").query();
+
+            SpecialProduct specialProduct = factorySet.type(SpecialProduct.class).property("name", "book").create();
+
+            assertThat(factorySet.type(Product.class).property("name", "book").query()).containsOnly(specialProduct);
+        }
+
+        @Test
+        void should_return_copy_of_cached_result() {
+            factorySet.type(Category.class).property("name", "math").create();
+            factorySet.type(Category.class).property("name", "math").query().clear();
+
+            assertThat(factorySet.type(Category.class).property("name", "math").query()).hasSize(1);
+        }
+
+        @Test
+        void should_evict_least_recently_used_query_of_type() {
+            FactorySet factorySet = new FactorySet(new CachingDataRepository(new HashMapDataRepository() {
+                @Override
+                public <T> List<T> query(BeanClass<T> beanClass, Map<String, Object> criteria) {
+                    queries.add(criteria);
+                    return super.query(beanClass, criteria);
+                }
+            }, 1));
+
+            factorySet.type(Category.class).property("name", "math").query();
+            factorySet.type(Category.class).property("name", "art").query();
+            factorySet.type(Category.class).property("name", "art").query();
+            factorySet.type(Category.class).property("name", "math").query();
+
+            assertThat(queries).extracting(criteria -> criteria.get("name")).containsExactly("math", "art", "math");
+        }
+
+        @Test
+        void should_reuse_query_result_of_criteria_with_same_converted_value() {
+            factorySet.type(Category.class).property("level", "2").query();
+            factorySet.type(Category.class).property("level", 2).query();
+
+            assertThat(queries).hasSize(1);
+        }
+
+        @Test
+        void should_query_again_after_object_saved_to_wrapped_repository() {
+            HashMapDataRepository repository = new HashMapDataRepository();
+            FactorySet factorySet = new FactorySet(new CachingDataRepository(repository));
+            factorySet.type(Category.class).property("name", "math").query();
+
+            Category math = new Category().setName("math");
+            repository.save(math);
+
+            assertThat(factorySet.type(Category.class).property("name", "math").query()).containsOnly(math);
+        }
+
+        @Test
+        void should_query_again_after_rollback() {
+            LayeredDataRepository repository = new LayeredDataRepository();
+            FactorySet factorySet = new FactorySet(new CachingDataRepository(repository));
+            repository.savepoint();
+            factorySet.type(Category.class).property("name", "math").create();
+            factorySet.type(Category.class).property("name", "math").query();
+
+            repository.rollback();
+
+            assertThat(factorySet.type(Category.class).property("name", "math").query()).isEmpty();
+        }
+
+        @Test
+        void should_raise_error_when_capacity_is_invalid() {
+            assertThatThrownBy(() -> new CachingDataRepository(new HashMapDataRepository(), 0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cache capacity 0");
+        }
+    }
+
+    @Nested
+    class SaveThroughConcurrentRepository extends SaveThroughRepository {
+
+        @Override
+        DataRepository createRepository() {
+            return new ConcurrentDataRepository();
+        }
+
+        @Test
+        void should_save_and_query_objects_created_in_parallel() {
+            IntStream.range(0, 1000).parallel()
+                    .forEach(i -> factorySet.type(Bean.class).property("stringValue", i % 2 == 0 ? "even" : "odd").create());
+
+            assertThat(factorySet.type(Bean.class).property("stringValue", "even").query()).hasSize(500);
+            assertThat(factorySet.type(Bean.class).query()).hasSize(1000);
+        }
+
+        @Test
+        void should_create_objects_in_given_executor() {
+            Bean bean = factorySet.type(Bean.class).property("stringValue", "hello").createAsync(Runnable::run).getNow(null);
+
+            assertThat(bean.getStringValue()).isEqualTo("hello");
+            assertThat(factorySet.type(Bean.class).property("stringValue", "hello").query()).containsOnly(bean);
+        }
+    }
+
+    @Nested
+    class CreateMany {
+        private final List<Integer> savedBatches = new ArrayList<>();
+        private final FactorySet factorySet = new FactorySet(new HashMapDataRepository() {
+            @Override
+            public void saveAll(Collection<?> objects) {
+                savedBatches.add(objects.size());
+                super.saveAll(objects);
+            }
+        });
+
+        @Test
+        void should_create_and_save_objects_in_sequence() {
+            List<Bean> beans = factorySet.type(Bean.class).createMany(3);
+
+            assertThat(beans).extracting(Bean::getIntValue).containsExactly(1, 2, 3);
+            assertThat(factorySet.type(Bean.class).query()).containsOnlyElementsOf(beans).hasSize(3);
+        }
+
+        @Test
+        void should_create_all_objects_from_builders() {
+            List<Bean> beans = Builder.createAll(factorySet.type(Bean.class).properties(asList(
+                    new HashMap<String, Object>() {{
+                        put("stringValue", "hello");
+                    }},
+                    new HashMap<String, Object>() {{
+                        put("stringValue", "world");
+                    }})));
+
+            assertThat(beans).extracting(Bean::getStringValue).containsExactly("hello", "world");
+            assertThat(factorySet.type(Bean.class).property("stringValue", "world").query()).containsOnly(beans.get(1));
+        }
+
+        @Test
+        void should_create_referenced_object_once_across_batch() {
+            List<Product> products = factorySet.type(Product.class).property("category.name", "art").createMany(3);
+
+            assertThat(factorySet.type(Category.class).query()).hasSize(1);
+            assertThat(products).extracting(Product::getCategory).containsOnly(products.get(0).getCategory());
+        }
+
+        @Test
+        void should_save_objects_built_before_failure() {
+            assertThatThrownBy(() -> Builder.createAll(Stream.of(
+                    factorySet.type(Bean.class).property("stringValue", "saved"),
+                    factorySet.type(Bean.class).spec(beanContext -> {
+                        throw new IllegalArgumentException("failed");
+                    })))).isInstanceOf(IllegalArgumentException.class).hasMessage("failed");
+
+            assertThat(factorySet.type(Bean.class).query()).extracting(Bean::getStringValue).containsExactly("saved");
+        }
+
+        @Test
+        void should_save_created_objects_in_batches() {
+            factorySet.type(Bean.class).createMany(1500);
+
+            assertThat(savedBatches).containsExactly(1000, 500);
+        }
+    }
 }
@@ -4,8 +4,7 @@ import com.github.leeonky.util.BeanClass;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 class QueryExpressionTest {
 
@@ -51,4 +50,53 @@ class QueryExpressionTest {
                     .sameWith(new QueryExpression<>(BeanClass.create(BeanContainer.class), "bean2.value", "a")));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class MergeKey {
+
+        @Test
+        void should_group_by_type_property_type_condition_and_value() {
+            assertEquals(new QueryExpression<>(BeanClass.create(BeanContainer.class), "bean1(A Bean).value", "a").getMergeKey(),
+                    new QueryExpression<>(BeanClass.create(BeanContainer.class), "bean2(B Bean).value", "a").getMergeKey());
+
+            assertNotEquals(new QueryExpression<>(BeanClass.create(BeanContainer.class), "bean1(A Bean).value", "a").getMergeKey(),
+                    new QueryExpression<>(BeanClass.create(BeanContainer.class), "bean2(A Bean).value", "b").getMergeKey());
+
+            assertNotEquals(new QueryExpression<>(BeanClass.create(BeanContainer.class), "bean1(A Bean).value", "a").getMergeKey(),
+                    new QueryExpression<>(BeanClass.create(AnotherBeanContainer.class), "bean2(A Bean).value", "a").getMergeKey());
+        }
+
+        @Test
+        void should_distinguish_spec_and_combination_by_build_key() {
+            assertEquals(new QueryExpression<>(BeanClass.create(BeanContainer.class), "bean1(A Bean).value", "a").getBuildKey(),
+                    new QueryExpression<>(BeanClass.create(BeanContainer.class), "bean2(A Bean).value", "a").getBuildKey());
+
+            assertNotEquals(new QueryExpression<>(BeanClass.create(BeanContainer.class), "bean1(A Bean).value", "a").getBuildKey(),
+                    new QueryExpression<>(BeanClass.create(BeanContainer.class), "bean2(B Bean).value", "a").getBuildKey());
+        }
+    }
+
+    @Nested
+    class CompiledChain {
+
+        @Test
+        void should_reuse_compiled_chain_of_same_type_and_chain() {
+            assertSame(QueryChain.compile(BeanClass.create(BeanContainer.class), "bean1(A Bean).value"),
+                    QueryChain.compile(BeanClass.create(BeanContainer.class), "bean1(A Bean).value"));
+
+            assertNotSame(QueryChain.compile(BeanClass.create(BeanContainer.class), "bean1(A Bean).value"),
+                    QueryChain.compile(BeanClass.create(AnotherBeanContainer.class), "bean1(A Bean).value"));
+        }
+
+        @Test
+        void should_bind_value_to_compiled_chain() {
+            BeanContainer beanContainer = new BeanContainer();
+            beanContainer.bean1 = new Bean();
+            beanContainer.bean1.value = "a";
+            QueryChain<BeanContainer> chain = QueryChain.compile(BeanClass.create(BeanContainer.class), "bean1.value");
+
+            assertTrue(chain.bind("a").matches(beanContainer));
+            assertFalse(chain.bind("b").matches(beanContainer));
+        }
+    }
+}